@@ -0,0 +1,44 @@
+package com.giga.spring.bench;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.giga.spring.bench.app.Order;
+
+/**
+ * Données partagées par les benchmarks.
+ */
+final class BenchData {
+
+    private BenchData() {}
+
+    /**
+     * Paramètres d'un formulaire de commande : client, adresse et {@code lines} lignes
+     */
+    static Map<String, String[]> orderParameters(int lines) {
+        Map<String, String[]> params = new HashMap<>();
+        params.put("order.id", new String[] { "42" });
+        params.put("order.customer.name", new String[] { "Rakoto" });
+        params.put("order.customer.email", new String[] { "rakoto@example.com" });
+        params.put("order.customer.address.street", new String[] { "Lot II A 12" });
+        params.put("order.customer.address.city", new String[] { "Antananarivo" });
+        params.put("order.customer.address.zip", new String[] { "101" });
+        params.put("order.tags", new String[] { "web", "promo" });
+        for (int i = 0; i < lines; i++) {
+            params.put("order.lines[" + i + "].sku", new String[] { "SKU-" + i });
+            params.put("order.lines[" + i + "].quantity", new String[] { String.valueOf(i + 1) });
+            params.put("order.lines[" + i + "].price", new String[] { "12.5" });
+        }
+        return params;
+    }
+
+    static List<Order.Line> lines(int size) {
+        List<Order.Line> lines = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            lines.add(new Order.Line("SKU-" + i, i % 7 + 1, 12.5 + i));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,47 @@
+package com.giga.spring.bench;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.giga.spring.bench.app.Order;
+import com.giga.spring.binding.ObjectBinder;
+
+/**
+ * ObjectBinder.bindObject sur un DTO imbriqué (client, adresse, liste de lignes),
+ * analyse des paramètres comprise.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BinderBenchmark {
+
+    @Param({ "1", "10", "100" })
+    public int lines;
+
+    private Map<String, String[]> params;
+
+    @Setup
+    public void setup() {
+        params = BenchData.orderParameters(lines);
+    }
+
+    @Benchmark
+    public Object bindNestedOrder() {
+        return ObjectBinder.bindObject(Order.class, params, "order");
+    }
+}
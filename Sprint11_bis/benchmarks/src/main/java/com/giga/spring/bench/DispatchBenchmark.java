@@ -0,0 +1,83 @@
+package com.giga.spring.bench;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.giga.spring.log.Level;
+import com.giga.spring.log.Logger;
+import com.giga.spring.servlet.FrontServlet;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * FrontServlet.service de bout en bout (recherche de route, binding, appel, rendu)
+ * sur des requêtes et réponses simulées, sans conteneur.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DispatchBenchmark {
+
+    private FrontServlet servlet;
+    private ServletMocks.Sink sink;
+    private Map<String, String[]> orderParams;
+
+    @Setup
+    public void setup() throws Exception {
+        Map<String, String> initParams = new HashMap<>();
+        initParams.put("controller-package", "com.giga.spring.bench.app");
+        initParams.put("log-level", "WARN");
+        servlet = new FrontServlet();
+        servlet.init(ServletMocks.config(initParams));
+        sink = new ServletMocks.Sink();
+        orderParams = BenchData.orderParameters(10);
+    }
+
+    @TearDown
+    public void tearDown() {
+        servlet.destroy();
+        Logger.setLevel(Level.INFO);
+    }
+
+    @Benchmark
+    public long text() throws Exception {
+        return dispatch(ServletMocks.request("GET", "/hello", Collections.emptyMap(), Collections.emptyMap()));
+    }
+
+    @Benchmark
+    public long jsonWithPathVariable() throws Exception {
+        return dispatch(ServletMocks.request("GET", "/items/42", Collections.emptyMap(), Collections.emptyMap()));
+    }
+
+    @Benchmark
+    public long formBindingToJson() throws Exception {
+        return dispatch(ServletMocks.request("POST", "/orders", orderParams, Collections.emptyMap()));
+    }
+
+    @Benchmark
+    public long notFound() throws Exception {
+        return dispatch(ServletMocks.request("GET", "/missing/page", Collections.emptyMap(), Collections.emptyMap()));
+    }
+
+    private long dispatch(HttpServletRequest req) throws Exception {
+        servlet.service(req, ServletMocks.response(sink));
+        return sink.bytes;
+    }
+}
@@ -0,0 +1,65 @@
+package com.giga.spring.bench;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.giga.spring.handler.MethodInvoker;
+
+/**
+ * Coût d'un appel de méthode de contrôleur : appel direct (référence),
+ * Method.invoke et MethodHandle préparé.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class InvokerBenchmark {
+
+    public static class Target {
+        public Object item(String name, int id) {
+            return id == 0 ? name : null;
+        }
+    }
+
+    private Target controller;
+    private Object[] args;
+    private MethodInvoker reflective;
+    private MethodInvoker methodHandle;
+
+    @Setup
+    public void setup() throws Exception {
+        controller = new Target();
+        args = new Object[] { "sku", 42 };
+        Method method = Target.class.getMethod("item", String.class, int.class);
+        reflective = MethodInvoker.create(method, MethodInvoker.REFLECTION);
+        methodHandle = MethodInvoker.create(method, MethodInvoker.METHOD_HANDLE);
+    }
+
+    @Benchmark
+    public Object direct() {
+        return controller.item((String) args[0], (Integer) args[1]);
+    }
+
+    @Benchmark
+    public Object reflection() throws Exception {
+        return reflective.invoke(controller, args);
+    }
+
+    @Benchmark
+    public Object methodHandle() throws Exception {
+        return methodHandle.invoke(controller, args);
+    }
+}
@@ -0,0 +1,59 @@
+package com.giga.spring.bench;
+
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.giga.spring.bench.app.Order;
+import com.giga.spring.json.JsonConverter;
+
+/**
+ * JsonConverter.toStandardJson (enveloppe standard) sur de grandes listes, et
+ * écriture directe dans un flux.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JsonBenchmark {
+
+    @Param({ "100", "10000" })
+    public int size;
+
+    private List<Order.Line> lines;
+
+    @Setup
+    public void setup() {
+        lines = BenchData.lines(size);
+    }
+
+    @Benchmark
+    public String toStandardJson() {
+        return JsonConverter.toStandardJson(lines);
+    }
+
+    @Benchmark
+    public long writeStandardJson() throws Exception {
+        ServletMocks.Sink sink = new ServletMocks.Sink();
+        Writer out = new OutputStreamWriter(sink, StandardCharsets.UTF_8);
+        JsonConverter.writeStandardJson(lines, out);
+        out.flush();
+        return sink.bytes;
+    }
+}
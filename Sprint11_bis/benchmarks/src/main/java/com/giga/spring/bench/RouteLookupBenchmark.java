@@ -0,0 +1,74 @@
+package com.giga.spring.bench;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.giga.spring.mapping.RouteRegistry;
+import com.giga.spring.mapping.URLRoute;
+
+/**
+ * RouteRegistry.findRoute selon le nombre de routes : route statique, route avec
+ * variables (la dernière enregistrée) et URL inconnue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RouteLookupBenchmark {
+
+    public static class Target {
+        public String handle() { return "ok"; }
+    }
+
+    @Param({ "10", "100", "1000" })
+    public int routes;
+
+    private RouteRegistry registry;
+    private String staticUrl;
+    private String variableUrl;
+
+    @Setup
+    public void setup() throws Exception {
+        Target controller = new Target();
+        Method method = Target.class.getMethod("handle");
+        registry = new RouteRegistry();
+        for (int i = 0; i < routes; i++) {
+            // Moitié routes statiques, moitié routes avec variables
+            String pattern = i % 2 == 0
+                    ? "/module" + i + "/list"
+                    : "/module" + i + "/items/{id}/lines/{line}";
+            registry.registerRoute(new URLRoute(pattern, controller, method, "GET"));
+        }
+        staticUrl = "/module" + (routes - 2) + "/list";
+        variableUrl = "/module" + (routes - 1) + "/items/1234/lines/7";
+    }
+
+    @Benchmark
+    public URLRoute staticRoute() {
+        return registry.findRoute(staticUrl, "GET");
+    }
+
+    @Benchmark
+    public URLRoute variableRoute() {
+        return registry.findRoute(variableUrl, "GET");
+    }
+
+    @Benchmark
+    public URLRoute miss() {
+        return registry.findRoute("/unknown/path/here", "GET");
+    }
+}
@@ -0,0 +1,125 @@
+package com.giga.spring.bench;
+
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Requêtes, réponses et configuration minimales (java.lang.reflect.Proxy) pour appeler
+ * FrontServlet sans conteneur. Seules les méthodes utilisées par le framework répondent ;
+ * les autres retournent null, false ou 0.
+ */
+public final class ServletMocks {
+
+    private ServletMocks() {}
+
+    public static ServletConfig config(Map<String, String> initParams) {
+        ServletContext context = proxy(ServletContext.class, (p, m, a) -> {
+            switch (m.getName()) {
+                case "getContextPath": return "";
+                case "getInitParameterNames": return Collections.emptyEnumeration();
+                default: return defaultValue(m.getReturnType());
+            }
+        });
+        return proxy(ServletConfig.class, (p, m, a) -> {
+            switch (m.getName()) {
+                case "getInitParameter": return initParams.get((String) a[0]);
+                case "getInitParameterNames": return Collections.enumeration(initParams.keySet());
+                case "getServletContext": return context;
+                case "getServletName": return "front";
+                default: return defaultValue(m.getReturnType());
+            }
+        });
+    }
+
+    /**
+     * Requête sans corps ; les attributs posés par le framework sont conservés
+     */
+    public static HttpServletRequest request(String method, String uri, Map<String, String[]> parameters,
+                                             Map<String, String> headers) {
+        Map<String, Object> attributes = new HashMap<>();
+        return proxy(HttpServletRequest.class, (p, m, a) -> {
+            switch (m.getName()) {
+                case "getMethod": return method;
+                case "getRequestURI": return uri;
+                case "getServletPath": return uri;
+                case "getContextPath": return "";
+                case "getParameterMap": return parameters;
+                case "getParameter": {
+                    String[] values = parameters.get((String) a[0]);
+                    return values != null && values.length > 0 ? values[0] : null;
+                }
+                case "getParameterValues": return parameters.get((String) a[0]);
+                case "getParameterNames": return Collections.enumeration(parameters.keySet());
+                case "getHeader": return headers.get((String) a[0]);
+                case "getHeaders": {
+                    String value = headers.get((String) a[0]);
+                    return value != null ? Collections.enumeration(Collections.singleton(value))
+                                         : Collections.emptyEnumeration();
+                }
+                case "getAttribute": return attributes.get((String) a[0]);
+                case "setAttribute": attributes.put((String) a[0], a[1]); return null;
+                case "removeAttribute": attributes.remove((String) a[0]); return null;
+                case "getCharacterEncoding": return "UTF-8";
+                default: return defaultValue(m.getReturnType());
+            }
+        });
+    }
+
+    /**
+     * Réponse dont le corps est compté puis jeté
+     */
+    public static HttpServletResponse response(Sink sink) {
+        PrintWriter writer = new PrintWriter(sink);
+        ServletOutputStream stream = new ServletOutputStream() {
+            @Override public void write(int b) { sink.write(b); }
+            @Override public void write(byte[] b, int off, int len) { sink.write(b, off, len); }
+            @Override public boolean isReady() { return true; }
+            @Override public void setWriteListener(WriteListener listener) {}
+        };
+        return proxy(HttpServletResponse.class, (p, m, a) -> {
+            switch (m.getName()) {
+                case "getOutputStream": return stream;
+                case "getWriter": return writer;
+                case "setStatus": sink.status = (Integer) a[0]; return null;
+                case "getStatus": return sink.status;
+                case "getCharacterEncoding": return "UTF-8";
+                default: return defaultValue(m.getReturnType());
+            }
+        });
+    }
+
+    /**
+     * Corps de réponse : seul le nombre d'octets est gardé
+     */
+    public static final class Sink extends OutputStream {
+        public long bytes;
+        public int status = 200;
+
+        @Override public void write(int b) { bytes++; }
+        @Override public void write(byte[] b, int off, int len) { bytes += len; }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(ServletMocks.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        return null;
+    }
+}
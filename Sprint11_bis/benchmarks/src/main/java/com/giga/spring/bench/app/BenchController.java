@@ -0,0 +1,32 @@
+package com.giga.spring.bench.app;
+
+import java.util.Map;
+
+import com.giga.spring.annotation.Controller;
+import com.giga.spring.annotation.GetUrl;
+import com.giga.spring.annotation.Json;
+import com.giga.spring.annotation.PostUrl;
+
+/**
+ * Contrôleur scanné par DispatchBenchmark (init-param "controller-package").
+ */
+@Controller
+public class BenchController {
+
+    @GetUrl("/hello")
+    public String hello() {
+        return "hello";
+    }
+
+    @GetUrl("/items/{id}")
+    @Json
+    public Map<String, Object> item(int id) {
+        return Map.of("id", id, "sku", "SKU-" + id, "price", 9.99);
+    }
+
+    @PostUrl("/orders")
+    @Json
+    public Order save(Order order) {
+        return order;
+    }
+}
@@ -0,0 +1,42 @@
+package com.giga.spring.bench.app;
+
+import java.util.List;
+
+/**
+ * DTO imbriqué des benchmarks : client, adresse et lignes de commande.
+ */
+public class Order {
+
+    public static class Address {
+        String street;
+        String city;
+        int zip;
+    }
+
+    public static class Customer {
+        String name;
+        String email;
+        Address address;
+    }
+
+    public static class Line {
+        String sku;
+        int quantity;
+        double price;
+
+        public Line() {}
+
+        public Line(String sku, int quantity, double price) {
+            this.sku = sku;
+            this.quantity = quantity;
+            this.price = price;
+        }
+    }
+
+    long id;
+    Customer customer;
+    List<Line> lines;
+    String[] tags;
+
+    public List<Line> getLines() { return lines; }
+}
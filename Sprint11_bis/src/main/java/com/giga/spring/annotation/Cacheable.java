@@ -0,0 +1,28 @@
+package com.giga.spring.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Met en cache côté serveur le JSON produit par une route GET + @Json.
+ * Clé : paramètres d'URL de la route, paramètres de requête reçus par la méthode (simples
+ * ou objets bindés, avec tous leurs sous-paramètres) et ceux listés dans {@code params}.
+ * Les appels simultanés pour une même clé absente n'invoquent le contrôleur qu'une fois.
+ * L'autorisation (@Authorized) reste vérifiée à chaque requête. Une méthode qui reçoit
+ * HttpServletRequest, HttpServletResponse ou des fichiers n'est pas mise en cache
+ * (erreur au démarrage) : sa réponse peut dépendre de la session ou de l'utilisateur.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Cacheable {
+    // Durée de vie d'une entrée (ms)
+    long ttl() default 60000;
+
+    // Paramètres de requête ajoutés à la clé, en plus de ceux reçus par la méthode
+    String[] params() default {};
+
+    // Nombre max d'entrées de la route (les moins récemment lues sont évincées)
+    int maxEntries() default 1000;
+}
@@ -8,4 +8,12 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.TYPE)
 public @interface Controller {
+    /** Créer le contrôleur (et appeler init()) au premier appel plutôt qu'au démarrage */
+    boolean lazy() default false;
+
+    /** SINGLETON, REQUEST ou POOLED ; seul SINGLETON est créé au démarrage */
+    Scope scope() default Scope.SINGLETON;
+
+    /** Nombre max d'instances gardées en POOLED (0 : deux par processeur) */
+    int poolSize() default 0;
 }
@@ -15,4 +15,10 @@ import java.lang.annotation.Target;
 public @interface Json {
     // Optionnel: nom personnalisé pour la propriété "data" dans la réponse JSON
     String value() default "data";
+
+    // false : réponse jamais compressée (ex: contenu déjà compressé ou très petit)
+    boolean compress() default true;
+
+    // true : ETag (version Versioned ou SHA-256 du JSON) et 304 si If-None-Match correspond
+    boolean etag() default false;
 }
\ No newline at end of file
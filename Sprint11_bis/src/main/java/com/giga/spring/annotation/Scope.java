@@ -0,0 +1,13 @@
+package com.giga.spring.annotation;
+
+/**
+ * Durée de vie des instances d'un contrôleur (voir {@link Controller#scope()}).
+ */
+public enum Scope {
+    /** Une seule instance partagée par toutes les requêtes (défaut) */
+    SINGLETON,
+    /** Une nouvelle instance par requête */
+    REQUEST,
+    /** Instances réutilisées depuis un pool : une requête à la fois par instance */
+    POOLED
+}
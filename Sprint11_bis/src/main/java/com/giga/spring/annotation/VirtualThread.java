@@ -0,0 +1,17 @@
+package com.giga.spring.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Exécute la méthode sur un thread virtuel (à placer à côté de @GetUrl/@PostUrl).
+ * {@code @VirtualThread(false)} garde la méthode sur le thread du conteneur
+ * quand le FrontServlet est en mode "execution-mode" = "virtual".
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface VirtualThread {
+    boolean value() default true;
+}
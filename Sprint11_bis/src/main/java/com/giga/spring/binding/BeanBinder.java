@@ -0,0 +1,240 @@
+package com.giga.spring.binding;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import com.giga.spring.log.Logger;
+
+/**
+ * Binder compilé pour une classe, mis en cache par classe.
+ * Les champs, leurs setters (MethodHandle), leurs convertisseurs, le type des
+ * éléments des tableaux/collections et le constructeur sont préparés une seule fois ; un binding ne fait plus que des lectures de map
+ * et des écritures directes.
+ */
+public class BeanBinder {
+
+    private static final Logger LOG = Logger.get(BeanBinder.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+    private static final Map<Class<?>, BeanBinder> CACHE = new ConcurrentHashMap<>();
+
+    private enum Kind { SIMPLE, NESTED, ARRAY, COLLECTION }
+
+    private static final class Property {
+        final String name;
+        final Class<?> type;
+        final Kind kind;
+        final MethodHandle setter;
+        final Converters.Converter converter;
+        final Class<?> elementType;
+
+        Property(Field field, Kind kind, MethodHandle setter) {
+            this.name = field.getName();
+            this.type = field.getType();
+            this.kind = kind;
+            this.setter = setter;
+            this.converter = kind == Kind.SIMPLE ? Converters.forType(type) : null;
+            if (kind == Kind.ARRAY) {
+                this.elementType = type.getComponentType();
+            } else if (kind == Kind.COLLECTION) {
+                this.elementType = ObjectBinder.elementType(field.getGenericType());
+            } else {
+                this.elementType = null;
+            }
+        }
+    }
+
+    private final Class<?> type;
+    private final MethodHandle constructor;
+    private final String constructorError;
+    private final Property[] properties;
+
+    /**
+     * Retourne le binder de la classe, créé au premier usage
+     */
+    public static BeanBinder of(Class<?> type) {
+        BeanBinder binder = CACHE.get(type);
+        if (binder == null) {
+            binder = new BeanBinder(type);
+            BeanBinder existing = CACHE.putIfAbsent(type, binder);
+            if (existing != null) binder = existing;
+        }
+        return binder;
+    }
+
+    private BeanBinder(Class<?> type) {
+        this.type = type;
+
+        MethodHandle ctor = null;
+        String error = null;
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            error = "Cannot instantiate interface or abstract class: " + type.getName();
+        } else {
+            try {
+                Constructor<?> constructor = type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                ctor = MethodHandles.lookup().unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
+            } catch (NoSuchMethodException e) {
+                error = "No default constructor for " + type.getName();
+            } catch (Exception e) {
+                error = "Error creating instance of " + type.getName() + ": " + e.getMessage();
+            }
+        }
+        this.constructor = ctor;
+        this.constructorError = error;
+
+        List<Property> props = new ArrayList<>();
+        for (Field field : getAllFields(type)) {
+            Property property = compile(field);
+            if (property != null) props.add(property);
+        }
+        this.properties = props.toArray(new Property[0]);
+    }
+
+    private static Property compile(Field field) {
+        if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+            return null;
+        }
+
+        Class<?> fieldType = field.getType();
+        Kind kind;
+        if (ObjectBinder.isSimpleType(fieldType)) {
+            kind = Kind.SIMPLE;
+        } else if (fieldType.isArray()) {
+            kind = Kind.ARRAY;
+        } else if (Collection.class.isAssignableFrom(fieldType)) {
+            kind = Kind.COLLECTION;
+        } else if (!Map.class.isAssignableFrom(fieldType)) {
+            kind = Kind.NESTED;
+        } else {
+            return null; // Les Map ne sont pas bindées
+        }
+
+        try {
+            if (!field.trySetAccessible()) {
+                return null;
+            }
+            MethodHandle setter = MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+            return new Property(field, kind, setter);
+        } catch (IllegalAccessException e) {
+            return null; // champ final ou inaccessible : non bindable
+        }
+    }
+
+    public Class<?> getType() { return type; }
+
+    /**
+     * Crée une instance vide, null si la classe n'a pas de constructeur utilisable
+     */
+    public Object newInstance() {
+        if (constructor == null) {
+            LOG.warn(constructorError);
+            return null;
+        }
+        try {
+            return (Object) constructor.invokeExact();
+        } catch (Throwable e) {
+            LOG.warn("Error creating instance of " + type.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Remplit les propriétés d'une instance à partir de son nœud de paramètres.
+     * Comme avant, un objet imbriqué sans paramètre est quand même créé vide.
+     */
+    public void bind(Object instance, ParamTree.Node node) {
+        for (Property property : properties) {
+            ParamTree.Node child = node.child(property.name);
+            if (child == null) {
+                // aucun paramètre pour cette propriété
+                if (property.kind == Kind.NESTED) {
+                    List<Class<?>> path = new ArrayList<>();
+                    path.add(type);
+                    setEmpty(instance, property, path);
+                }
+                continue;
+            }
+
+            if (property.kind == Kind.SIMPLE) {
+                // Type simple - récupérer la valeur
+                String[] values = child.getValues();
+                if (values != null && values.length > 0) {
+                    set(instance, property, property.converter.convert(values[0]));
+                }
+            } else if (property.kind == Kind.ARRAY) {
+                set(instance, property, ObjectBinder.bindArray(property.elementType, child));
+            } else if (property.kind == Kind.COLLECTION) {
+                set(instance, property, ObjectBinder.bindCollection(property.type, property.elementType, child));
+            } else {
+                // Objet imbriqué - binding récursif
+                BeanBinder nested = of(property.type);
+                Object nestedObject = nested.newInstance();
+                if (nestedObject != null) {
+                    nested.bind(nestedObject, child);
+                    set(instance, property, nestedObject);
+                }
+            }
+        }
+    }
+
+    /**
+     * Crée vide l'objet imbriqué d'une propriété et, récursivement, les siens.
+     * Un type déjà présent sur le chemin reste null (types auto-référencés).
+     */
+    private static void setEmpty(Object instance, Property property, List<Class<?>> path) {
+        if (path.contains(property.type)) {
+            return;
+        }
+        BeanBinder nested = of(property.type);
+        if (nested.constructor == null) {
+            return; // pas instanciable : laissé null, sans avertissement à chaque requête
+        }
+        Object nestedObject = nested.newInstance();
+        if (nestedObject == null) {
+            return;
+        }
+        path.add(property.type);
+        for (Property nestedProperty : nested.properties) {
+            if (nestedProperty.kind == Kind.NESTED) {
+                setEmpty(nestedObject, nestedProperty, path);
+            }
+        }
+        path.remove(path.size() - 1);
+        set(instance, property, nestedObject);
+    }
+
+    private static void set(Object instance, Property property, Object value) {
+        try {
+            property.setter.invokeExact(instance, value);
+        } catch (Throwable e) {
+            LOG.warn("Erreur setting " + property.name + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Récupère tous les champs d'une classe (y compris hérités)
+     */
+    private static List<Field> getAllFields(Class<?> clazz) {
+        List<Field> fields = new ArrayList<>();
+        Class<?> currentClass = clazz;
+
+        while (currentClass != null && currentClass != Object.class) {
+            for (Field field : currentClass.getDeclaredFields()) {
+                fields.add(field);
+            }
+            currentClass = currentClass.getSuperclass();
+        }
+
+        return fields;
+    }
+}
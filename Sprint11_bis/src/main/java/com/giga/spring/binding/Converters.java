@@ -0,0 +1,170 @@
+package com.giga.spring.binding;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import com.giga.spring.log.Logger;
+
+/**
+ * Convertisseurs String -> type cible, choisis une fois par type puis mis en cache.
+ * Une valeur vide donne la valeur par défaut du type ; une erreur de conversion
+ * est signalée puis remplacée par la valeur par défaut.
+ */
+public class Converters {
+
+    private static final Logger LOG = Logger.get(Converters.class);
+
+    @FunctionalInterface
+    public interface Converter {
+        Object convert(String value);
+    }
+
+    /**
+     * Conversion d'une valeur non vide, peut échouer
+     */
+    private interface Parser {
+        Object parse(String value) throws Exception;
+    }
+
+    private static final Map<Class<?>, Converter> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Retourne le convertisseur complet (valeur vide et erreurs comprises) pour un type
+     */
+    public static Converter forType(Class<?> targetType) {
+        Converter converter = CACHE.get(targetType);
+        if (converter == null) {
+            converter = withDefaults(targetType, select(targetType));
+            Converter existing = CACHE.putIfAbsent(targetType, converter);
+            if (existing != null) converter = existing;
+        }
+        return converter;
+    }
+
+    private static Converter withDefaults(Class<?> targetType, Parser parser) {
+        Object defaultValue = getDefaultValue(targetType);
+        return value -> {
+            if (value == null || value.trim().isEmpty()) {
+                return defaultValue;
+            }
+            try {
+                return parser.parse(value);
+            } catch (Exception e) {
+                LOG.warn("Erreur conversion " + value + " to " + targetType.getName() + ": " + e.getMessage());
+                return defaultValue;
+            }
+        };
+    }
+
+    private static Parser select(Class<?> targetType) {
+        // String
+        if (targetType == String.class) {
+            return value -> value;
+        }
+
+        // Primitives numériques
+        if (targetType == int.class || targetType == Integer.class) {
+            return Integer::parseInt;
+        }
+        if (targetType == long.class || targetType == Long.class) {
+            return Long::parseLong;
+        }
+        if (targetType == double.class || targetType == Double.class) {
+            return Double::parseDouble;
+        }
+        if (targetType == float.class || targetType == Float.class) {
+            return Float::parseFloat;
+        }
+        if (targetType == short.class || targetType == Short.class) {
+            return Short::parseShort;
+        }
+        if (targetType == byte.class || targetType == Byte.class) {
+            return Byte::parseByte;
+        }
+
+        // Boolean
+        if (targetType == boolean.class || targetType == Boolean.class) {
+            return Boolean::parseBoolean;
+        }
+
+        // Character
+        if (targetType == char.class || targetType == Character.class) {
+            return value -> value.charAt(0);
+        }
+
+        // Date (format simple)
+        if (targetType == Date.class) {
+            return DateCodec::parse;
+        }
+
+        // java.time
+        if (targetType == LocalDate.class) {
+            return value -> nullOnError(() -> LocalDate.parse(value));
+        }
+        if (targetType == LocalDateTime.class) {
+            return value -> nullOnError(() -> LocalDateTime.parse(value));
+        }
+
+        // Enum
+        if (targetType.isEnum()) {
+            return value -> parseEnum(targetType, value);
+        }
+
+        // java.math
+        if (targetType == BigDecimal.class) {
+            return value -> nullOnError(() -> new BigDecimal(value));
+        }
+        if (targetType == BigInteger.class) {
+            return value -> nullOnError(() -> new BigInteger(value));
+        }
+
+        // Type non géré : la chaîne est retournée telle quelle
+        return value -> value;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Object parseEnum(Class<?> targetType, String value) {
+        try {
+            return Enum.valueOf((Class<? extends Enum>) targetType, value);
+        } catch (IllegalArgumentException e) {
+            // Essayer avec ignoreCase
+            for (Object constant : targetType.getEnumConstants()) {
+                if (constant.toString().equalsIgnoreCase(value)) {
+                    return constant;
+                }
+            }
+            return null;
+        }
+    }
+
+    private interface Attempt {
+        Object run() throws Exception;
+    }
+
+    private static Object nullOnError(Attempt attempt) {
+        try {
+            return attempt.run();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Retourne la valeur par défaut pour un type
+     */
+    public static Object getDefaultValue(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == char.class) return '\0';
+        if (type == byte.class) return (byte) 0;
+        if (type == short.class) return (short) 0;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0f;
+        if (type == double.class) return 0d;
+        return null;
+    }
+}
@@ -0,0 +1,100 @@
+package com.giga.spring.binding;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+/**
+ * Lecture et écriture des dates, partagées par le binding et le JSON.
+ * Tout est immuable donc utilisable par plusieurs threads à la fois ; la lecture
+ * détecte le format d'après les séparateurs, sans exception ni SimpleDateFormat.
+ */
+public final class DateCodec {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static final DateTimeFormatter JSON_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ").withZone(ZONE);
+
+    // Ordre des champs essayés pour une date avec "/" (comme avant : jour d'abord)
+    private static final int DAY_MONTH_YEAR = 0;
+    private static final int YEAR_MONTH_DAY = 1;
+    private static final int MONTH_DAY_YEAR = 2;
+
+    private DateCodec() {}
+
+    /**
+     * Format JSON : yyyy-MM-dd'T'HH:mm:ss.SSSZ dans le fuseau du serveur
+     */
+    public static String format(Date date) {
+        return JSON_FORMAT.format(date.toInstant());
+    }
+
+    /**
+     * Lit une date "yyyy-MM-dd", "dd/MM/yyyy", "yyyy/MM/dd" ou "MM/dd/yyyy"
+     * (minuit, fuseau du serveur). Retourne null si la valeur n'est pas une date valide.
+     */
+    public static Date parse(String value) {
+        LocalDate date = parseLocalDate(value);
+        return date != null ? Date.from(date.atStartOfDay(ZONE).toInstant()) : null;
+    }
+
+    public static LocalDate parseLocalDate(String value) {
+        if (value == null) return null;
+
+        // Trois nombres séparés par le même séparateur ; la suite éventuelle est ignorée
+        int[] fields = new int[3];
+        int[] digits = new int[3];
+        int pos = 0;
+        char separator = 0;
+        for (int f = 0; f < 3; f++) {
+            int start = pos;
+            int number = 0;
+            while (pos < value.length() && Character.isDigit(value.charAt(pos)) && pos - start < 9) {
+                number = number * 10 + (value.charAt(pos) - '0');
+                pos++;
+            }
+            if (pos == start) return null;
+            fields[f] = number;
+            digits[f] = pos - start;
+            if (f < 2) {
+                if (pos >= value.length()) return null;
+                char c = value.charAt(pos);
+                if (f == 0) {
+                    if (c != '-' && c != '/') return null;
+                    separator = c;
+                } else if (c != separator) {
+                    return null;
+                }
+                pos++;
+            }
+        }
+        if (pos < value.length() && Character.isDigit(value.charAt(pos))) return null;
+
+        if (separator == '-') {
+            return toDate(fields[0], fields[1], fields[2]);
+        }
+
+        // "/" : jour/mois/année, puis année/mois/jour, puis mois/jour/année
+        for (int order = DAY_MONTH_YEAR; order <= MONTH_DAY_YEAR; order++) {
+            LocalDate date;
+            if (order == DAY_MONTH_YEAR) {
+                date = digits[0] <= 2 ? toDate(fields[2], fields[1], fields[0]) : null;
+            } else if (order == YEAR_MONTH_DAY) {
+                date = toDate(fields[0], fields[1], fields[2]);
+            } else {
+                date = digits[0] <= 2 ? toDate(fields[2], fields[0], fields[1]) : null;
+            }
+            if (date != null) return date;
+        }
+        return null;
+    }
+
+    private static LocalDate toDate(int year, int month, int day) {
+        if (year < 1 || month < 1 || month > 12 || day < 1) return null;
+        if (day > 28 && day > Month.of(month).length(Year.isLeap(year))) return null;
+        return LocalDate.of(year, month, day);
+    }
+}
@@ -1,13 +1,10 @@
 package com.giga.spring.binding;
 
 import java.lang.reflect.Array;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashSet;
@@ -16,21 +13,35 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Vector;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import com.giga.spring.log.Logger;
 
 /**
  * Classe responsable du binding automatique d'objets depuis les paramètres HTTP
  */
 public class ObjectBinder {
-    
-    private static final Pattern INDEXED_PATTERN = Pattern.compile("^(.*?)\\[(\\d+)\\](.*)$");
-    private static final Pattern PROPERTY_PATTERN = Pattern.compile("^([^.]+)\\.(.+)$");
+
+    private static final Logger LOG = Logger.get(ObjectBinder.class);
     
     /**
      * Crée et remplit un objet à partir des paramètres de requête
      */
     public static Object bindObject(Class<?> targetType, Map<String, String[]> parameterMap, String prefix) {
+        return bindObject(targetType, ParamTree.parse(parameterMap).resolve(prefix));
+    }
+    
+    /**
+     * Crée et remplit un objet à partir d'un nœud de l'arbre des paramètres
+     * (null si aucun paramètre ne commence par le préfixe)
+     */
+    public static Object bindObject(Class<?> targetType, ParamTree.Node node) {
+        return bindObject(targetType, targetType, node);
+    }
+    
+    /**
+     * Idem, avec le type générique déclaré (ex: List<LineItem>) pour typer
+     * les éléments des collections
+     */
+    public static Object bindObject(Class<?> targetType, Type genericType, ParamTree.Node node) {
         if (targetType == null) {
             return null;
         }
@@ -38,12 +49,12 @@ public class ObjectBinder {
         try {
             // Vérifier si c'est un tableau
             if (targetType.isArray()) {
-                return bindArray(targetType.getComponentType(), parameterMap, prefix);
+                return bindArray(targetType.getComponentType(), node);
             }
             
             // Vérifier si c'est une Collection (List, Set)
             if (Collection.class.isAssignableFrom(targetType)) {
-                return bindCollection(targetType, parameterMap, prefix);
+                return bindCollection(targetType, elementType(genericType), node);
             }
             
             // Vérifier si c'est une Map (déjà traité dans Sprint 8)
@@ -51,40 +62,81 @@ public class ObjectBinder {
                 return null; // Géré séparément
             }
             
-            // Créer une instance de l'objet
-            Object instance = createInstance(targetType);
+            // Créer une instance de l'objet via son binder compilé
+            BeanBinder binder = BeanBinder.of(targetType);
+            Object instance = binder.newInstance();
             if (instance == null) {
                 return null;
             }
             
             // Remplir les propriétés
-            fillProperties(instance, parameterMap, prefix);
+            if (node != null) {
+                binder.bind(instance, node);
+            }
             
             return instance;
             
         } catch (Exception e) {
-            System.err.println("Erreur lors du binding de " + targetType.getName() + ": " + e.getMessage());
+            LOG.warn("Erreur lors du binding de " + targetType.getName() + ": " + e.getMessage());
             return null;
         }
     }
     
     /**
-     * Crée et remplit un tableau d'objets
+     * Type des éléments d'une collection déclarée (List<X> -> X), Object si inconnu
      */
-    private static Object bindArray(Class<?> componentType, Map<String, String[]> parameterMap, String prefix) {
-        // Déterminer la taille du tableau
-        int maxIndex = findMaxIndex(parameterMap, prefix);
+    public static Class<?> elementType(Type genericType) {
+        if (genericType instanceof ParameterizedType) {
+            Type[] typeArgs = ((ParameterizedType) genericType).getActualTypeArguments();
+            if (typeArgs.length == 1) {
+                return rawClass(typeArgs[0]);
+            }
+        }
+        return Object.class;
+    }
+    
+    private static Class<?> rawClass(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return rawClass(((ParameterizedType) type).getRawType());
+        }
+        if (type instanceof WildcardType) {
+            return rawClass(((WildcardType) type).getUpperBounds()[0]);
+        }
+        return Object.class;
+    }
+    
+    /**
+     * Crée et remplit un tableau
+     */
+    static Object bindArray(Class<?> componentType, ParamTree.Node node) {
+        // Éléments simples : valeurs indexées ou valeurs multiples (tags=a&tags=b)
+        if (isSimpleElement(componentType)) {
+            List<Object> values = simpleValues(componentType, node);
+            Object array = Array.newInstance(componentType, values.size());
+            for (int i = 0; i < values.size(); i++) {
+                Object value = values.get(i);
+                if (value != null || !componentType.isPrimitive()) {
+                    Array.set(array, i, value);
+                }
+            }
+            return array;
+        }
+        
+        // Déterminer la taille du tableau (index bornés par ParamTree.getIndexLimit)
+        int maxIndex = node != null ? node.getMaxIndex() : -1;
         if (maxIndex < 0) {
             return Array.newInstance(componentType, 0);
         }
         
-        // Créer le tableau
+        // Créer le tableau : les positions sont conservées, les trous restent vides
         Object array = Array.newInstance(componentType, maxIndex + 1);
         
         // Remplir chaque élément
         for (int i = 0; i <= maxIndex; i++) {
-            String elementPrefix = (prefix.isEmpty() ? "" : prefix + ".") + "[" + i + "]";
-            Object element = bindObject(componentType, parameterMap, elementPrefix);
+            Object element = bindObject(componentType, node.element(i));
             Array.set(array, i, element);
         }
         
@@ -92,23 +144,34 @@ public class ObjectBinder {
     }
     
     /**
-     * Crée et remplit une Collection
+     * Crée et remplit une Collection dont les éléments sont du type donné
      */
-    private static Collection<?> bindCollection(Class<?> collectionType, Map<String, String[]> parameterMap, String prefix) {
+    static Collection<?> bindCollection(Class<?> collectionType, Class<?> elementType, ParamTree.Node node) {
+        if (isSimpleElement(elementType)) {
+            List<Object> values = simpleValues(elementType, node);
+            @SuppressWarnings("unchecked")
+            Collection<Object> collection = (Collection<Object>) createCollectionInstance(collectionType, values.size());
+            for (Object value : values) {
+                if (value != null) {
+                    collection.add(value);
+                }
+            }
+            return collection;
+        }
+        
         // Déterminer la taille
-        int maxIndex = findMaxIndex(parameterMap, prefix);
+        int maxIndex = node != null ? node.getMaxIndex() : -1;
         if (maxIndex < 0) {
-            return createEmptyCollection(collectionType);
+            return createCollectionInstance(collectionType, 0);
         }
         
-        // Créer la collection
-        Collection<Object> collection = (Collection<Object>) createCollectionInstance(collectionType);
+        // Créer la collection, dimensionnée d'après les éléments réellement envoyés
+        @SuppressWarnings("unchecked")
+        Collection<Object> collection = (Collection<Object>) createCollectionInstance(collectionType, node.getElementCount());
         
         // Remplir chaque élément
         for (int i = 0; i <= maxIndex; i++) {
-            String elementPrefix = (prefix.isEmpty() ? "" : prefix + ".") + "[" + i + "]";
-            // Pour les collections, on ne sait pas le type d'élément, on utilise Object
-            Object element = bindObject(Object.class, parameterMap, elementPrefix);
+            Object element = bindObject(elementType, node.element(i));
             if (element != null) {
                 collection.add(element);
             }
@@ -118,250 +181,52 @@ public class ObjectBinder {
     }
     
     /**
-     * Trouve l'index maximum dans les paramètres
+     * Valeurs converties d'un tableau/collection de types simples
      */
-    private static int findMaxIndex(Map<String, String[]> parameterMap, String prefix) {
-        int maxIndex = -1;
-        String prefixWithDot = prefix.isEmpty() ? "" : prefix + ".";
-        
-        for (String paramName : parameterMap.keySet()) {
-            if (paramName.startsWith(prefixWithDot + "[") || 
-                (prefix.isEmpty() && paramName.startsWith("["))) {
-                
-                // Extraire l'index
-                Matcher matcher = INDEXED_PATTERN.matcher(
-                    prefix.isEmpty() ? paramName : paramName.substring(prefix.length() + 1)
-                );
-                
-                if (matcher.matches()) {
-                    try {
-                        int index = Integer.parseInt(matcher.group(2));
-                        if (index > maxIndex) {
-                            maxIndex = index;
-                        }
-                    } catch (NumberFormatException e) {
-                        // Ignorer
-                    }
-                }
-            }
+    private static List<Object> simpleValues(Class<?> elementType, ParamTree.Node node) {
+        if (node == null) {
+            return new ArrayList<>(0);
         }
-        
-        return maxIndex;
-    }
-    
-    /**
-     * Remplit les propriétés d'un objet
-     */
-    private static void fillProperties(Object instance, Map<String, String[]> parameterMap, String prefix) {
-        Class<?> clazz = instance.getClass();
-        
-        // Récupérer tous les champs (y compris hérités)
-        List<Field> fields = getAllFields(clazz);
-        
-        for (Field field : fields) {
-            // Vérifier l'accessibilité
-            boolean accessible = field.canAccess(instance);
-            if (!accessible) {
-                field.setAccessible(true);
-            }
-            
-            // Nom de la propriété dans les paramètres
-            String propertyName = field.getName();
-            String paramName = prefix.isEmpty() ? propertyName : prefix + "." + propertyName;
-            
-            // Vérifier si c'est un objet imbriqué
-            Class<?> fieldType = field.getType();
-            
-            if (isSimpleType(fieldType)) {
-                // Type simple - récupérer la valeur
-                String[] values = findParameterValue(parameterMap, paramName);
-                if (values != null && values.length > 0) {
-                    try {
-                        Object value = convertToType(values[0], fieldType);
-                        field.set(instance, value);
-                    } catch (Exception e) {
-                        System.err.println("Erreur setting " + paramName + ": " + e.getMessage());
-                    }
-                }
-            } else if (!fieldType.isArray() && !Collection.class.isAssignableFrom(fieldType)) {
-                // Objet imbriqué - binding récursif
-                Object nestedObject = bindObject(fieldType, parameterMap, paramName);
-                if (nestedObject != null) {
-                    try {
-                        field.set(instance, nestedObject);
-                    } catch (Exception e) {
-                        System.err.println("Erreur setting nested object " + paramName + ": " + e.getMessage());
-                    }
-                }
-            }
-            // Les tableaux et collections sont traités différemment
-            
-            // Restaurer l'accessibilité
-            if (!accessible) {
-                field.setAccessible(false);
+        Converters.Converter converter = Converters.forType(elementType);
+        int maxIndex = node.getMaxIndex();
+        if (maxIndex >= 0) {
+            List<Object> values = new ArrayList<>(node.getElementCount());
+            for (int i = 0; i <= maxIndex; i++) {
+                ParamTree.Node element = node.element(i);
+                String[] raw = element != null ? element.getValues() : null;
+                values.add(converter.convert(raw != null && raw.length > 0 ? raw[0] : null));
             }
+            return values;
+        }
+        String[] raw = node.getValues();
+        if (raw == null) {
+            return new ArrayList<>(0);
+        }
+        List<Object> values = new ArrayList<>(raw.length);
+        for (String value : raw) {
+            values.add(converter.convert(value));
         }
+        return values;
     }
     
     /**
-     * Trouve la valeur d'un paramètre (gère les notations avec points)
+     * Élément converti directement depuis sa valeur (Object = valeur brute)
      */
-    private static String[] findParameterValue(Map<String, String[]> parameterMap, String paramName) {
-        // Essayer le nom exact d'abord
-        String[] values = parameterMap.get(paramName);
-        if (values != null) {
-            return values;
-        }
-        
-        // Essayer avec différentes notations
-        // Ex: "employee.name" pourrait être "employee.name" ou split
-        for (String key : parameterMap.keySet()) {
-            if (key.replace("_", ".").equals(paramName)) {
-                return parameterMap.get(key);
-            }
-        }
-        
-        return null;
+    static boolean isSimpleElement(Class<?> type) {
+        return type == Object.class || isSimpleType(type);
     }
     
     /**
      * Convertit une String en type cible
      */
     public static Object convertToType(String value, Class<?> targetType) {
-        if (value == null || value.trim().isEmpty()) {
-            return getDefaultValue(targetType);
-        }
-        
-        try {
-            // String
-            if (targetType == String.class) {
-                return value;
-            }
-            
-            // Primitives numériques
-            if (targetType == int.class || targetType == Integer.class) {
-                return Integer.parseInt(value);
-            }
-            if (targetType == long.class || targetType == Long.class) {
-                return Long.parseLong(value);
-            }
-            if (targetType == double.class || targetType == Double.class) {
-                return Double.parseDouble(value);
-            }
-            if (targetType == float.class || targetType == Float.class) {
-                return Float.parseFloat(value);
-            }
-            if (targetType == short.class || targetType == Short.class) {
-                return Short.parseShort(value);
-            }
-            if (targetType == byte.class || targetType == Byte.class) {
-                return Byte.parseByte(value);
-            }
-            
-            // Boolean
-            if (targetType == boolean.class || targetType == Boolean.class) {
-                return Boolean.parseBoolean(value);
-            }
-            
-            // Character
-            if (targetType == char.class || targetType == Character.class) {
-                return value.length() > 0 ? value.charAt(0) : '\0';
-            }
-            
-            // Date (format simple)
-            if (targetType == Date.class) {
-                try {
-                    // Essayer différents formats
-                    String[] formats = {"yyyy-MM-dd", "dd/MM/yyyy", "yyyy/MM/dd", "MM/dd/yyyy"};
-                    for (String format : formats) {
-                        try {
-                            SimpleDateFormat sdf = new SimpleDateFormat(format);
-                            sdf.setLenient(false);
-                            return sdf.parse(value);
-                        } catch (ParseException e) {
-                            // Continuer avec le format suivant
-                        }
-                    }
-                    // Si aucun format ne fonctionne, retourner null
-                    return null;
-                } catch (Exception e) {
-                    return null;
-                }
-            }
-            
-            // java.time.LocalDate
-            if (targetType.getName().equals("java.time.LocalDate")) {
-                try {
-                    return Class.forName("java.time.LocalDate")
-                            .getMethod("parse", CharSequence.class)
-                            .invoke(null, value);
-                } catch (Exception e) {
-                    return null;
-                }
-            }
-            
-            // java.time.LocalDateTime
-            if (targetType.getName().equals("java.time.LocalDateTime")) {
-                try {
-                    return Class.forName("java.time.LocalDateTime")
-                            .getMethod("parse", CharSequence.class)
-                            .invoke(null, value);
-                } catch (Exception e) {
-                    return null;
-                }
-            }
-            
-            // Enum
-            if (targetType.isEnum()) {
-                try {
-                    @SuppressWarnings({"rawtypes", "unchecked"})
-                    Class<? extends Enum> enumType = (Class<? extends Enum>) targetType;
-                    return Enum.valueOf(enumType, value);
-                } catch (IllegalArgumentException e) {
-                    // Essayer avec ignoreCase
-                    for (Object constant : targetType.getEnumConstants()) {
-                        if (constant.toString().equalsIgnoreCase(value)) {
-                            return constant;
-                        }
-                    }
-                    return null;
-                }
-            }
-            
-            // BigDecimal
-            if (targetType.getName().equals("java.math.BigDecimal")) {
-                try {
-                    return Class.forName("java.math.BigDecimal")
-                            .getConstructor(String.class)
-                            .newInstance(value);
-                } catch (Exception e) {
-                    return null;
-                }
-            }
-            
-            // BigInteger
-            if (targetType.getName().equals("java.math.BigInteger")) {
-                try {
-                    return Class.forName("java.math.BigInteger")
-                            .getConstructor(String.class)
-                            .newInstance(value);
-                } catch (Exception e) {
-                    return null;
-                }
-            }
-            
-        } catch (Exception e) {
-            System.err.println("Erreur conversion " + value + " to " + targetType.getName() + ": " + e.getMessage());
-            return getDefaultValue(targetType);
-        }
-        
-        return value;
+        return Converters.forType(targetType).convert(value);
     }
     
     /**
      * Vérifie si un type est "simple" (pas besoin de binding récursif)
      */
-    private static boolean isSimpleType(Class<?> type) {
+    static boolean isSimpleType(Class<?> type) {
         return type.isPrimitive() ||
                type == String.class ||
                type == Integer.class ||
@@ -379,91 +244,28 @@ public class ObjectBinder {
     }
     
     /**
-     * Crée une instance d'une classe
+     * Crée une instance de Collection avec une capacité initiale
      */
-    private static Object createInstance(Class<?> clazz) {
+    private static Collection<?> createCollectionInstance(Class<?> collectionType, int capacity) {
         try {
-            // Vérifier si c'est une interface ou classe abstraite
-            if (clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers())) {
-                System.err.println("Cannot instantiate interface or abstract class: " + clazz.getName());
-                return null;
-            }
-            
-            // Chercher un constructeur par défaut
-            Constructor<?> constructor = clazz.getDeclaredConstructor();
-            constructor.setAccessible(true);
-            return constructor.newInstance();
-            
-        } catch (NoSuchMethodException e) {
-            System.err.println("No default constructor for " + clazz.getName());
-            return null;
-        } catch (Exception e) {
-            System.err.println("Error creating instance of " + clazz.getName() + ": " + e.getMessage());
-            return null;
-        }
-    }
-    
-    /**
-     * Crée une instance de Collection
-     */
-    private static Collection<?> createCollectionInstance(Class<?> collectionType) {
-        try {
-            if (collectionType == List.class || collectionType == ArrayList.class) {
-                return new ArrayList<>();
+            if (collectionType == List.class || collectionType == ArrayList.class
+                    || collectionType == Collection.class) {
+                return new ArrayList<>(capacity);
             }
             if (collectionType == Set.class || collectionType == HashSet.class) {
-                return new HashSet<>();
+                return new HashSet<>(Math.max(16, (int) (capacity / 0.75f) + 1));
             }
             if (collectionType == LinkedList.class) {
                 return new LinkedList<>();
             }
             if (collectionType == Vector.class) {
-                return new Vector<>();
+                return new Vector<>(Math.max(10, capacity));
             }
             
             // Par défaut, créer avec le constructeur par défaut
             return (Collection<?>) collectionType.getDeclaredConstructor().newInstance();
         } catch (Exception e) {
-            return new ArrayList<>();
-        }
-    }
-    
-    /**
-     * Crée une Collection vide
-     */
-    private static Collection<?> createEmptyCollection(Class<?> collectionType) {
-        Collection<?> collection = createCollectionInstance(collectionType);
-        collection.clear();
-        return collection;
-    }
-    
-    /**
-     * Récupère tous les champs d'une classe (y compris hérités)
-     */
-    private static List<Field> getAllFields(Class<?> clazz) {
-        List<Field> fields = new ArrayList<>();
-        Class<?> currentClass = clazz;
-        
-        while (currentClass != null && currentClass != Object.class) {
-            fields.addAll(Arrays.asList(currentClass.getDeclaredFields()));
-            currentClass = currentClass.getSuperclass();
+            return new ArrayList<>(capacity);
         }
-        
-        return fields;
-    }
-    
-    /**
-     * Retourne la valeur par défaut pour un type
-     */
-    private static Object getDefaultValue(Class<?> type) {
-        if (type == boolean.class) return false;
-        if (type == char.class) return '\0';
-        if (type == byte.class) return (byte) 0;
-        if (type == short.class) return (short) 0;
-        if (type == int.class) return 0;
-        if (type == long.class) return 0L;
-        if (type == float.class) return 0f;
-        if (type == double.class) return 0d;
-        return null;
     }
-}
\ No newline at end of file
+}
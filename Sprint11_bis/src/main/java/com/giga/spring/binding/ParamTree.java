@@ -0,0 +1,146 @@
+package com.giga.spring.binding;
+
+import java.util.HashMap;
+import java.util.Map;
+import com.giga.spring.log.Logger;
+
+/**
+ * Paramètres de requête découpés une seule fois en arbre : "a.b[3].c" donne
+ * a -> b -> [3] -> c. La notation "a.[3]" est équivalente à "a[3]", et
+ * "a_b" est accepté pour "a.b" quand ce dernier n'est pas envoyé.
+ * Le binding parcourt directement l'arbre, en temps linéaire sur le nombre de paramètres.
+ * Les index au-delà de {@link #getIndexLimit()} sont ignorés : un seul paramètre
+ * "items[999999999]" ne doit pas faire allouer un tableau géant.
+ */
+public class ParamTree {
+
+    private static final Logger LOG = Logger.get(ParamTree.class);
+
+    private static volatile int indexLimit = 1000;
+
+    /** Index le plus grand accepté dans un nom de paramètre (1000 par défaut) */
+    public static int getIndexLimit() { return indexLimit; }
+
+    public static void setIndexLimit(int limit) {
+        if (limit < 0) throw new IllegalArgumentException("index limit must be >= 0: " + limit);
+        indexLimit = limit;
+    }
+
+    public static class Node {
+        private String[] values;
+        private Map<String, Node> children;
+        private Map<Integer, Node> elements;
+        private int maxIndex = -1;
+
+        /** Valeurs envoyées pour ce chemin exact, null si aucune */
+        public String[] getValues() { return values; }
+
+        /** Propriété nommée, null si absente */
+        public Node child(String name) {
+            return children != null ? children.get(name) : null;
+        }
+
+        /** Élément indexé, null si absent */
+        public Node element(int index) {
+            return elements != null ? elements.get(index) : null;
+        }
+
+        /** Plus grand index présent, -1 s'il n'y en a aucun */
+        public int getMaxIndex() { return maxIndex; }
+
+        /** Nombre d'éléments indexés réellement présents */
+        public int getElementCount() { return elements != null ? elements.size() : 0; }
+
+        private Node childOrCreate(String name) {
+            if (children == null) children = new HashMap<>();
+            return children.computeIfAbsent(name, k -> new Node());
+        }
+
+        private Node elementOrCreate(int index) {
+            if (elements == null) elements = new HashMap<>();
+            if (index > maxIndex) maxIndex = index;
+            return elements.computeIfAbsent(index, k -> new Node());
+        }
+    }
+
+    private final Node root = new Node();
+
+    private ParamTree() {}
+
+    public static ParamTree parse(Map<String, String[]> parameterMap) {
+        ParamTree tree = new ParamTree();
+        for (Map.Entry<String, String[]> entry : parameterMap.entrySet()) {
+            Node node = tree.walk(entry.getKey(), true);
+            if (node != null) node.values = entry.getValue();
+        }
+
+        // Notation avec "_" : seulement si la forme avec "." n'a pas été envoyée
+        for (Map.Entry<String, String[]> entry : parameterMap.entrySet()) {
+            String key = entry.getKey();
+            if (key.indexOf('_') >= 0) {
+                Node node = tree.walk(key.replace('_', '.'), true);
+                if (node != null && node.values == null) node.values = entry.getValue();
+            }
+        }
+        return tree;
+    }
+
+    public Node getRoot() { return root; }
+
+    /**
+     * Nœud correspondant à un préfixe (ex: "emp", "order.items[2]"), null s'il n'existe pas
+     */
+    public Node resolve(String path) {
+        return walk(path, false);
+    }
+
+    private Node walk(String key, boolean create) {
+        Node node = root;
+        int i = 0;
+        int n = key.length();
+        while (i < n && node != null) {
+            char c = key.charAt(i);
+            if (c == '.') {
+                i++;
+                continue;
+            }
+            if (c == '[') {
+                int close = key.indexOf(']', i);
+                if (close < 0) {
+                    // Crochet non fermé : le reste est un nom
+                    return create ? node.childOrCreate(key.substring(i)) : node.child(key.substring(i));
+                }
+                int index = parseIndex(key, i + 1, close);
+                if (index > indexLimit) {
+                    if (create) LOG.debug("Paramètre ignoré, index > " + indexLimit + " : " + key);
+                    return null;
+                }
+                if (index >= 0) {
+                    node = create ? node.elementOrCreate(index) : node.element(index);
+                } else {
+                    String name = key.substring(i + 1, close);
+                    node = create ? node.childOrCreate(name) : node.child(name);
+                }
+                i = close + 1;
+            } else {
+                int end = i;
+                while (end < n && key.charAt(end) != '.' && key.charAt(end) != '[') end++;
+                String name = key.substring(i, end);
+                node = create ? node.childOrCreate(name) : node.child(name);
+                i = end;
+            }
+        }
+        return node;
+    }
+
+    private static int parseIndex(String key, int start, int end) {
+        if (end == start || end - start > 9) return -1;
+        int index = 0;
+        for (int i = start; i < end; i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            index = index * 10 + (c - '0');
+        }
+        return index;
+    }
+}
@@ -0,0 +1,19 @@
+package com.giga.spring.cache;
+
+/**
+ * Réponse JSON sérialisée (UTF-8, non compressée) et son ETag éventuel
+ */
+public class CachedResponse {
+    private final byte[] body;
+    private final String etag;
+
+    public CachedResponse(byte[] body, String etag) {
+        this.body = body;
+        this.etag = etag;
+    }
+
+    public byte[] getBody() { return body; }
+
+    /** ETag entre guillemets, null si la route ne demande pas d'ETag */
+    public String getEtag() { return etag; }
+}
@@ -0,0 +1,191 @@
+package com.giga.spring.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Cache des réponses d'une route @Cacheable : LRU borné (maxEntries), durée de vie par
+ * entrée (ttl) et chargement unique par clé — les requêtes qui arrivent pendant un
+ * chargement attendent son résultat (ou son erreur, qui n'est pas mise en cache).
+ */
+public class ResponseCache {
+
+    /**
+     * Produit la réponse d'une clé absente (invocation du contrôleur + sérialisation)
+     */
+    public interface Loader {
+        CachedResponse load() throws Exception;
+    }
+
+    private static class Entry {
+        final CachedResponse response;
+        final long expiresAt;
+
+        Entry(CachedResponse response, long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final long ttlMillis;
+    private final String[] params;
+    private final String[] prefixes;
+    private final Map<String, Entry> entries;
+    private final Map<String, CompletableFuture<CachedResponse>> loading = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param params   paramètres de requête lus par nom exact
+     * @param prefixes paramètres d'objets bindés : tous ceux qui commencent par le préfixe
+     */
+    public ResponseCache(long ttlMillis, String[] params, String[] prefixes, int maxEntries) {
+        this.ttlMillis = ttlMillis;
+        this.params = params;
+        this.prefixes = prefixes;
+        // Ordre d'accès : l'entrée la moins récemment lue est évincée en premier
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Clé d'une requête : valeurs des paramètres d'URL, des paramètres nommés, puis
+     * noms et valeurs de tous les paramètres sous les préfixes des objets bindés
+     */
+    public String key(String[] pathValues, HttpServletRequest req) {
+        StringBuilder key = new StringBuilder();
+        for (String value : pathValues) {
+            appendPart(key, value);
+        }
+        for (String name : params) {
+            String[] values = req.getParameterValues(name);
+            if (values == null) {
+                appendPart(key, null);
+            } else {
+                for (String value : values) {
+                    appendPart(key, value);
+                }
+            }
+        }
+        for (String prefix : prefixes) {
+            // Triés : l'ordre de la requête ne doit pas changer la clé
+            TreeMap<String, String[]> bound = new TreeMap<>();
+            for (Map.Entry<String, String[]> entry : req.getParameterMap().entrySet()) {
+                if (isUnder(entry.getKey(), prefix)) {
+                    bound.put(entry.getKey(), entry.getValue());
+                }
+            }
+            appendPart(key, prefix);
+            for (Map.Entry<String, String[]> entry : bound.entrySet()) {
+                appendPart(key, entry.getKey());
+                for (String value : entry.getValue()) {
+                    appendPart(key, value);
+                }
+            }
+        }
+        return key.toString();
+    }
+
+    // Mêmes notations que ParamTree : "p", "p.x", "p[0]", "p_x"
+    private static boolean isUnder(String name, String prefix) {
+        if (!name.startsWith(prefix)) return false;
+        if (name.length() == prefix.length()) return true;
+        char next = name.charAt(prefix.length());
+        return next == '.' || next == '[' || next == '_';
+    }
+
+    // Séparateurs hors des valeurs courantes : "a|b"+"c" et "a"+"b|c" restent distincts
+    private static void appendPart(StringBuilder key, String value) {
+        key.append(value != null ? value : "\u0001").append('\u0000');
+    }
+
+    /**
+     * Réponse en cache pour la clé, chargée au besoin (une seule fois pour les appels simultanés)
+     */
+    public CachedResponse get(String key, Loader loader) throws Exception {
+        CachedResponse cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        CompletableFuture<CachedResponse> mine = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> running = loading.putIfAbsent(key, mine);
+        if (running != null) {
+            hits.increment();
+            return await(running);
+        }
+
+        try {
+            // Un chargement a pu se terminer entre lookup() et putIfAbsent()
+            cached = lookup(key);
+            if (cached == null) {
+                misses.increment();
+                cached = loader.load();
+                synchronized (entries) {
+                    entries.put(key, new Entry(cached, System.currentTimeMillis() + ttlMillis));
+                }
+            } else {
+                hits.increment();
+            }
+            mine.complete(cached);
+            return cached;
+        } catch (Exception | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, mine);
+        }
+    }
+
+    private CachedResponse lookup(String key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt <= System.currentTimeMillis()) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.response;
+        }
+    }
+
+    private static CachedResponse await(CompletableFuture<CachedResponse> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) throw (Exception) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+}
@@ -12,7 +12,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 @Controller
-public class SampleController extends Controller {
+public class SampleController extends com.giga.spring.controller.Controller {
 
     @PostUrl("/save")
     public ModelView save(Map<String, Object> formData) {
@@ -0,0 +1,10 @@
+package com.giga.spring.handler;
+
+/**
+ * Résout la valeur d'un paramètre de méthode de contrôleur.
+ * Choisi une seule fois par paramètre au démarrage (voir {@link HandlerPlan}).
+ */
+@FunctionalInterface
+public interface ArgumentResolver {
+    Object resolve(InvocationContext ctx) throws Exception;
+}
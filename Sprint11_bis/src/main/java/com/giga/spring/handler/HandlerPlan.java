@@ -0,0 +1,289 @@
+package com.giga.spring.handler;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.giga.spring.annotation.Authorized;
+import com.giga.spring.annotation.Cacheable;
+import com.giga.spring.annotation.Json;
+import com.giga.spring.annotation.RequestParam;
+import com.giga.spring.annotation.VirtualThread;
+import com.giga.spring.binding.Converters;
+import com.giga.spring.cache.ResponseCache;
+import com.giga.spring.binding.ObjectBinder;
+import com.giga.spring.log.Logger;
+import com.giga.spring.mapping.RouteMatch;
+import com.giga.spring.mapping.URLRoute;
+import com.giga.spring.upload.UploadedFile;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Plan d'invocation d'une méthode de contrôleur, construit une seule fois au scan.
+ * Chaque paramètre reçoit son résolveur à l'avance : à la requête il n'y a plus
+ * de lecture d'annotations ni d'analyse des types génériques.
+ */
+public class HandlerPlan {
+    private static final Logger LOG = Logger.get(HandlerPlan.class);
+
+    private final Method method;
+    private final ArgumentResolver[] resolvers;
+    private final MethodInvoker invoker;
+    private final Json json;
+    private final Authorized authorized;
+    private final VirtualThread virtualThread;
+    private final ResponseCache responseCache;
+
+    private HandlerPlan(Method method, ArgumentResolver[] resolvers, MethodInvoker invoker,
+                        String[] urlParamNames) {
+        this.method = method;
+        this.resolvers = resolvers;
+        this.invoker = invoker;
+        this.json = method.getAnnotation(Json.class);
+        this.authorized = method.getAnnotation(Authorized.class);
+        this.virtualThread = method.getAnnotation(VirtualThread.class);
+        // Seul le JSON est mis en cache (une vue JSP dépend de la requête au rendu)
+        Cacheable cacheable = method.getAnnotation(Cacheable.class);
+        this.responseCache = (cacheable != null && json != null) ? createCache(method, cacheable, urlParamNames) : null;
+    }
+
+    /**
+     * Cache de la route, avec pour clé tous les paramètres que la méthode peut lire.
+     * Refusé (null, erreur au démarrage) si la méthode reçoit la requête, la réponse ou
+     * des fichiers : sa réponse peut dépendre de la session, de l'utilisateur ou du corps,
+     * et le JSON du premier appelant serait servi à tous les autres.
+     */
+    private static ResponseCache createCache(Method method, Cacheable cacheable, String[] urlParamNames) {
+        List<String> names = new ArrayList<>(Arrays.asList(cacheable.params()));
+        List<String> prefixes = new ArrayList<>();
+        for (Parameter param : method.getParameters()) {
+            Class<?> paramType = param.getType();
+            if (HttpServletRequest.class.isAssignableFrom(paramType)
+                    || HttpServletResponse.class.isAssignableFrom(paramType)
+                    || UploadedFile.class.isAssignableFrom(paramType)
+                    || (paramType.isArray() && paramType.getComponentType() == UploadedFile.class)
+                    || isUploadedFileMap(param.getParameterizedType())
+                    || isUploadedFileList(param.getParameterizedType())) {
+                LOG.error("@Cacheable ignoré sur " + method.getDeclaringClass().getSimpleName() + "."
+                        + method.getName() + " : le paramètre " + param.getName() + " (" + paramType.getSimpleName()
+                        + ") rend la réponse propre à chaque requête");
+                return null;
+            }
+            RequestParam rp = param.getAnnotation(RequestParam.class);
+            String name = (rp != null && !rp.value().isEmpty()) ? rp.value() : param.getName();
+            if (shouldBindObject(paramType)) {
+                prefixes.add(name);
+            } else if (!Arrays.asList(urlParamNames).contains(name) && !names.contains(name)) {
+                names.add(name);
+            }
+        }
+        return new ResponseCache(cacheable.ttl(), names.toArray(new String[0]),
+                prefixes.toArray(new String[0]), cacheable.maxEntries());
+    }
+
+    public Method getMethod() { return method; }
+    public boolean isJson() { return json != null; }
+    public Json getJson() { return json; }
+    public Authorized getAuthorized() { return authorized; }
+    public MethodInvoker getInvoker() { return invoker; }
+
+    /** Cache de la route (@Cacheable + @Json), null sinon */
+    public ResponseCache getResponseCache() { return responseCache; }
+
+    /**
+     * Choix de thread de la route : @VirtualThread s'il est présent, sinon le mode par défaut
+     */
+    public boolean runsOnVirtualThread(boolean virtualByDefault) {
+        return virtualThread != null ? virtualThread.value() : virtualByDefault;
+    }
+
+    /**
+     * Prépare les arguments de la méthode pour une requête
+     */
+    public Object[] resolveArguments(HttpServletRequest req, HttpServletResponse res, RouteMatch match)
+            throws Exception {
+        InvocationContext ctx = new InvocationContext(req, res, match);
+        Object[] args = new Object[resolvers.length];
+        for (int i = 0; i < resolvers.length; i++) {
+            args[i] = resolvers[i].resolve(ctx);
+        }
+        return args;
+    }
+
+    /**
+     * Appelle la méthode du contrôleur avec les arguments résolus
+     */
+    public Object invoke(Object controller, Object[] args) throws Exception {
+        return invoker.invoke(controller, args);
+    }
+
+    public static HandlerPlan build(URLRoute route) {
+        return build(route, MethodInvoker.METHOD_HANDLE);
+    }
+
+    /**
+     * Construit le plan d'une route à partir de la signature de sa méthode
+     */
+    public static HandlerPlan build(URLRoute route, String invokerMode) {
+        Method method = route.getMethod();
+        Parameter[] parameters = method.getParameters();
+        ArgumentResolver[] resolvers = new ArgumentResolver[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            resolvers[i] = selectResolver(parameters[i], route.getParamNames());
+        }
+        return new HandlerPlan(method, resolvers, MethodInvoker.create(method, invokerMode), route.getParamNames());
+    }
+
+    private static ArgumentResolver selectResolver(Parameter param, String[] urlParamNames) {
+        Class<?> paramType = param.getType();
+        String paramName = param.getName();
+        RequestParam rp = param.getAnnotation(RequestParam.class);
+        String alias = (rp != null && !rp.value().isEmpty()) ? rp.value() : null;
+
+        // 1. Types spéciaux: HttpServletRequest, HttpServletResponse
+        if (HttpServletRequest.class.isAssignableFrom(paramType)) {
+            return InvocationContext::getRequest;
+        }
+        if (HttpServletResponse.class.isAssignableFrom(paramType)) {
+            return InvocationContext::getResponse;
+        }
+
+        // 2. UploadedFile, par nom du paramètre puis par @RequestParam
+        if (UploadedFile.class.isAssignableFrom(paramType)) {
+            return ctx -> {
+                Map<String, UploadedFile> files = ctx.getUploadedFiles();
+                if (files == null) return null;
+                UploadedFile file = files.get(paramName);
+                if (file == null && alias != null) {
+                    file = files.get(alias);
+                }
+                return file;
+            };
+        }
+
+        // 3. Map<String, UploadedFile> pour tous les fichiers
+        if (Map.class.isAssignableFrom(paramType) && isUploadedFileMap(param.getParameterizedType())) {
+            return ctx -> {
+                Map<String, UploadedFile> files = ctx.getUploadedFiles();
+                return files != null ? new HashMap<>(files) : new HashMap<String, UploadedFile>();
+            };
+        }
+
+        // 4. List<UploadedFile> pour plusieurs fichiers
+        if (List.class.isAssignableFrom(paramType) && isUploadedFileList(param.getParameterizedType())) {
+            return ctx -> {
+                Map<String, UploadedFile> files = ctx.getUploadedFiles();
+                return files != null ? new ArrayList<>(files.values()) : new ArrayList<UploadedFile>();
+            };
+        }
+
+        // 5. UploadedFile[] pour tableau de fichiers
+        if (paramType.isArray() && paramType.getComponentType() == UploadedFile.class) {
+            return ctx -> {
+                Map<String, UploadedFile> files = ctx.getUploadedFiles();
+                return files != null ? files.values().toArray(new UploadedFile[0]) : new UploadedFile[0];
+            };
+        }
+
+        // 6. Binding d'objets, tableaux et collections (type des éléments résolu ici)
+        if (shouldBindObject(paramType)) {
+            String prefix = alias != null ? alias : paramName;
+            Type genericType = param.getParameterizedType();
+            return ctx -> ObjectBinder.bindObject(paramType, genericType, ctx.getParamTree().resolve(prefix));
+        }
+
+        // 7. Paramètres simples : variable d'URL si le nom en fait partie, sinon paramètre de requête
+        String requestParamName = alias != null ? alias : paramName;
+        Converters.Converter converter = Converters.forType(paramType);
+        Object defaultValue = Converters.getDefaultValue(paramType);
+        for (int index = 0; index < urlParamNames.length; index++) {
+            if (urlParamNames[index].equals(requestParamName)) {
+                int urlParamIndex = index;
+                return ctx -> converter.convert(ctx.getMatch().getParamValues()[urlParamIndex]);
+            }
+        }
+        return ctx -> {
+            String[] values = ctx.getParameterMap().get(requestParamName);
+            if (values != null && values.length > 0) {
+                return converter.convert(values[0]);
+            }
+            return defaultValue;
+        };
+    }
+
+    /**
+     * Vérifie si le type est Map<String, UploadedFile>
+     */
+    private static boolean isUploadedFileMap(Type genericType) {
+        if (!(genericType instanceof ParameterizedType)) {
+            return false;
+        }
+
+        Type[] typeArgs = ((ParameterizedType) genericType).getActualTypeArguments();
+        if (typeArgs.length != 2) {
+            return false;
+        }
+
+        return isSubtypeOf(typeArgs[0], String.class) && isSubtypeOf(typeArgs[1], UploadedFile.class);
+    }
+
+    /**
+     * Vérifie si le type est List<UploadedFile>
+     */
+    private static boolean isUploadedFileList(Type genericType) {
+        if (!(genericType instanceof ParameterizedType)) {
+            return false;
+        }
+
+        Type[] typeArgs = ((ParameterizedType) genericType).getActualTypeArguments();
+        return typeArgs.length == 1 && isSubtypeOf(typeArgs[0], UploadedFile.class);
+    }
+
+    private static boolean isSubtypeOf(Type type, Class<?> expected) {
+        return type == expected || (type instanceof Class && expected.isAssignableFrom((Class<?>) type));
+    }
+
+    /**
+     * Vérifie si un type nécessite du binding d'objet
+     */
+    private static boolean shouldBindObject(Class<?> type) {
+        if (isSimpleComponentType(type) ||
+            type == Date.class ||
+            type.isEnum() ||
+            UploadedFile.class.isAssignableFrom(type)) {
+            return false;
+        }
+
+        if (type.isArray()) {
+            return type.getComponentType() != UploadedFile.class;
+        }
+
+        if (Map.class.isAssignableFrom(type)) {
+            return false; // Traité séparément
+        }
+
+        return true; // objets et collections (List<UploadedFile> est traité avant)
+    }
+
+    private static boolean isSimpleComponentType(Class<?> componentType) {
+        return componentType.isPrimitive() ||
+               componentType == String.class ||
+               componentType == Integer.class ||
+               componentType == Long.class ||
+               componentType == Double.class ||
+               componentType == Float.class ||
+               componentType == Boolean.class ||
+               componentType == Short.class ||
+               componentType == Byte.class ||
+               componentType == Character.class;
+    }
+}
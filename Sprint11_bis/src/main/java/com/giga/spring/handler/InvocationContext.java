@@ -0,0 +1,67 @@
+package com.giga.spring.handler;
+
+import java.util.Map;
+
+import com.giga.spring.binding.ParamTree;
+import com.giga.spring.mapping.RouteMatch;
+import com.giga.spring.upload.FileUploadUtils;
+import com.giga.spring.upload.MultipartContext;
+import com.giga.spring.upload.UploadedFile;
+import com.giga.spring.log.Logger;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Données d'une requête partagées par les résolveurs d'arguments.
+ * Les paramètres et les fichiers uploadés ne sont lus qu'à la première demande.
+ */
+public class InvocationContext {
+
+    private static final Logger LOG = Logger.get(InvocationContext.class);
+    private final HttpServletRequest request;
+    private final HttpServletResponse response;
+    private final RouteMatch match;
+    private Map<String, String[]> parameterMap;
+    private ParamTree paramTree;
+    private Map<String, UploadedFile> uploadedFiles;
+
+    public InvocationContext(HttpServletRequest request, HttpServletResponse response, RouteMatch match) {
+        this.request = request;
+        this.response = response;
+        this.match = match;
+    }
+
+    public HttpServletRequest getRequest() { return request; }
+    public HttpServletResponse getResponse() { return response; }
+    public RouteMatch getMatch() { return match; }
+
+    public Map<String, String[]> getParameterMap() {
+        if (parameterMap == null) {
+            parameterMap = request.getParameterMap();
+        }
+        return parameterMap;
+    }
+
+    /**
+     * Paramètres de requête en arbre, construit une seule fois pour tous les objets bindés
+     */
+    public ParamTree getParamTree() {
+        if (paramTree == null) {
+            paramTree = ParamTree.parse(getParameterMap());
+        }
+        return paramTree;
+    }
+
+    /**
+     * Fichiers uploadés de la requête (lecture seule), null si la requête n'est pas multipart
+     */
+    public Map<String, UploadedFile> getUploadedFiles() throws Exception {
+        if (uploadedFiles == null && FileUploadUtils.isMultipartRequest(request)) {
+            // Partagé avec FileUploadUtils : les parts ne sont lues qu'une fois par requête
+            uploadedFiles = MultipartContext.of(request).getFilesByName();
+            if (LOG.isDebugEnabled()) LOG.debug("Found " + uploadedFiles.size() + " uploaded file(s)");
+        }
+        return uploadedFiles;
+    }
+}
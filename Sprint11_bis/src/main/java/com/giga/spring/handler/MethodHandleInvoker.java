@@ -0,0 +1,41 @@
+package com.giga.spring.handler;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Invocation par un {@link MethodHandle} préparé au démarrage, de type
+ * (Object, Object[])Object : pas d'InvocationTargetException, pas de contrôle
+ * d'accès à chaque appel, et un chemin que le JIT peut inliner.
+ */
+public class MethodHandleInvoker implements MethodInvoker {
+    private final MethodHandle handle;
+
+    public MethodHandleInvoker(Method method) {
+        try {
+            method.trySetAccessible();
+            MethodHandle mh = MethodHandles.lookup().unreflect(method);
+            if (Modifier.isStatic(method.getModifiers())) {
+                mh = MethodHandles.dropArguments(mh, 0, Object.class);
+            }
+            // void -> null, primitives -> boxing, puis arguments regroupés dans un Object[]
+            mh = mh.asType(mh.type().generic());
+            this.handle = mh.asSpreader(Object[].class, method.getParameterCount());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Méthode inaccessible: " + method, e);
+        }
+    }
+
+    @Override
+    public Object invoke(Object controller, Object[] args) throws Exception {
+        try {
+            return (Object) handle.invokeExact(controller, args);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+}
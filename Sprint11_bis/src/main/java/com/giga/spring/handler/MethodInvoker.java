@@ -0,0 +1,24 @@
+package com.giga.spring.handler;
+
+import java.lang.reflect.Method;
+
+/**
+ * Appelle une méthode de contrôleur. L'implémentation est choisie au scan
+ * (paramètre d'init "invoker" du FrontServlet : "methodhandle" ou "reflection").
+ * Les exceptions levées par le contrôleur sont propagées telles quelles.
+ */
+@FunctionalInterface
+public interface MethodInvoker {
+
+    String METHOD_HANDLE = "methodhandle";
+    String REFLECTION = "reflection";
+
+    Object invoke(Object controller, Object[] args) throws Exception;
+
+    static MethodInvoker create(Method method, String mode) {
+        if (REFLECTION.equalsIgnoreCase(mode)) {
+            return new ReflectiveInvoker(method);
+        }
+        return new MethodHandleInvoker(method);
+    }
+}
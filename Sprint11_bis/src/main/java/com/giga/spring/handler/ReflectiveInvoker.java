@@ -0,0 +1,28 @@
+package com.giga.spring.handler;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Invocation par {@link Method#invoke}, l'exception du contrôleur est déballée
+ */
+public class ReflectiveInvoker implements MethodInvoker {
+    private final Method method;
+
+    public ReflectiveInvoker(Method method) {
+        this.method = method;
+        method.trySetAccessible();
+    }
+
+    @Override
+    public Object invoke(Object controller, Object[] args) throws Exception {
+        try {
+            return method.invoke(controller, args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) throw (Exception) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.giga.spring.json;
 
+import com.giga.spring.binding.DateCodec;
 import com.giga.spring.model.ModelView;
+import com.giga.spring.log.Logger;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
@@ -10,42 +12,62 @@ import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
 import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.lang.reflect.Type;
-import java.text.SimpleDateFormat;
+import java.util.Collection;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Classe utilitaire pour convertir des objets en JSON
  * Sprint 9 - Conversion JSON
  */
 public class JsonConverter {
+
+    private static final Logger LOG = Logger.get(JsonConverter.class);
+    
+    private static final Gson compactGson;
+    private static final Gson prettyGson;
     
-    private static final Gson gson;
+    // Pretty printing uniquement en développement (paramètre d'init "json-pretty-print")
+    private static volatile Gson gson;
     
     static {
         // Configuration de Gson avec des sérialiseurs personnalisés
         GsonBuilder builder = new GsonBuilder();
         
         // Sérialsateur pour Date
+        // (DateCodec est immuable : pas de SimpleDateFormat partagé entre threads)
         builder.registerTypeAdapter(Date.class, new JsonSerializer<Date>() {
-            private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
-            
             @Override
             public JsonElement serialize(Date date, Type typeOfSrc, JsonSerializationContext context) {
-                return new JsonPrimitive(dateFormat.format(date));
+                return new JsonPrimitive(DateCodec.format(date));
             }
         });
         
-        // Pretty printing pour le développement
-        builder.setPrettyPrinting();
-        
         // Gérer les nulls
         builder.serializeNulls();
         
-        gson = builder.create();
+        compactGson = builder.create();
+        prettyGson = builder.setPrettyPrinting().create();
+        gson = compactGson;
+    }
+    
+    /**
+     * Active ou non l'indentation du JSON produit (désactivée par défaut)
+     */
+    public static void setPrettyPrinting(boolean pretty) {
+        gson = pretty ? prettyGson : compactGson;
+    }
+    
+    public static boolean isPrettyPrinting() {
+        return gson == prettyGson;
     }
     
     /**
@@ -59,15 +81,108 @@ public class JsonConverter {
         try {
             return gson.toJson(obj);
         } catch (Exception e) {
-            System.err.println("Erreur conversion JSON: " + e.getMessage());
+            LOG.error("Erreur conversion JSON: " + e.getMessage());
             return "{\"error\": \"Failed to convert to JSON\"}";
         }
     }
     
+    /**
+     * Écrit un objet en JSON directement dans le flux, sans passer par une String
+     */
+    public static void writeJson(Object obj, Writer out) throws IOException {
+        Gson current = gson;
+        JsonWriter writer = current.newJsonWriter(out);
+        if (obj == null) {
+            writer.nullValue();
+        } else {
+            current.toJson(obj, obj.getClass(), writer);
+        }
+        writer.flush();
+    }
+    
     /**
      * Convertit un objet en réponse JSON standardisée
      */
     public static String toStandardJson(Object data) {
+        return toJson(toStandardResponse(data));
+    }
+    
+    /**
+     * Écrit la réponse JSON standardisée directement dans le flux
+     */
+    public static void writeStandardJson(Object data, Writer out) throws IOException {
+        writeJson(toStandardResponse(data), out);
+    }
+    
+    /**
+     * Vrai si le résultat doit être sérialisé au fil de l'eau (Stream, Iterator,
+     * Iterable non matérialisé) plutôt que chargé en mémoire
+     */
+    public static boolean isStreamable(Object data) {
+        return data instanceof Stream ||
+               data instanceof Iterator ||
+               (data instanceof Iterable && !(data instanceof Collection));
+    }
+    
+    /**
+     * Écrit l'enveloppe standard en sérialisant les éléments un par un dans "data".
+     * meta.count est écrit après le dernier élément ; la mémoire utilisée ne dépend
+     * pas du nombre d'éléments. Le Stream (ou l'itérateur fermable) est fermé à la fin.
+     */
+    public static void writeStreamingJson(Object data, Writer out) throws IOException {
+        Iterator<?> iterator;
+        AutoCloseable resource = null;
+        if (data instanceof Stream) {
+            Stream<?> stream = (Stream<?>) data;
+            iterator = stream.iterator();
+            resource = stream;
+        } else if (data instanceof Iterator) {
+            iterator = (Iterator<?>) data;
+        } else {
+            iterator = ((Iterable<?>) data).iterator();
+            if (data instanceof AutoCloseable) resource = (AutoCloseable) data;
+        }
+        if (resource == null && iterator instanceof AutoCloseable) {
+            resource = (AutoCloseable) iterator;
+        }
+        
+        try {
+            Gson current = gson;
+            JsonWriter writer = current.newJsonWriter(out);
+            writer.beginObject();
+            writer.name("status").value("success");
+            writer.name("code").value(200);
+            writer.name("data").beginArray();
+            int count = 0;
+            while (iterator.hasNext()) {
+                Object element = iterator.next();
+                if (element == null) {
+                    writer.nullValue();
+                } else {
+                    current.toJson(element, element.getClass(), writer);
+                }
+                count++;
+            }
+            writer.endArray();
+            writer.name("message").nullValue();
+            writer.name("meta").beginObject().name("count").value(count).endObject();
+            writer.endObject();
+            writer.flush();
+        } finally {
+            if (resource != null) {
+                try {
+                    resource.close();
+                } catch (Exception e) {
+                    LOG.warn("Erreur fermeture du flux JSON: " + e.getMessage());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Encapsule un résultat dans l'enveloppe standard (status/code/data/meta)
+     */
+    public static JsonResponse toStandardResponse(Object data) {
         JsonResponse response;
         
         if (data instanceof ModelView) {
@@ -95,7 +210,7 @@ public class JsonConverter {
             response = JsonResponse.success(data);
         }
         
-        return toJson(response);
+        return response;
     }
     
     /**
@@ -0,0 +1,45 @@
+package com.giga.spring.json;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * ETag des réponses JSON : SHA-256 (tronqué à 128 bits, base64url) des octets sérialisés
+ * ou d'une clé de version fournie par le contrôleur (Versioned).
+ * Les valeurs retournées sont entre guillemets, sans préfixe W/.
+ */
+public class JsonEtag {
+
+    private static final int LENGTH = 16;
+
+    private JsonEtag() {}
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    /**
+     * ETag d'un digest déjà alimenté (ex: par un DigestOutputStream pendant la sérialisation)
+     */
+    public static String of(MessageDigest digest) {
+        byte[] hash = Arrays.copyOf(digest.digest(), LENGTH);
+        return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+    }
+
+    /**
+     * ETag d'une clé de version : haché pour rester un en-tête valide quel que soit son contenu
+     */
+    public static String ofVersion(Object version) {
+        MessageDigest digest = newDigest();
+        digest.update(String.valueOf(version).getBytes(StandardCharsets.UTF_8));
+        // Préfixe "v" : une version ne peut pas coïncider avec le hash d'un corps
+        return "\"v" + of(digest).substring(1);
+    }
+}
@@ -0,0 +1,14 @@
+package com.giga.spring.json;
+
+/**
+ * Résultat de contrôleur qui connaît sa version (ex: date de mise à jour, numéro de révision).
+ * Sur une route @Json(etag = true), l'ETag est dérivé de cette version : une requête
+ * If-None-Match à jour reçoit un 304 sans que le résultat soit sérialisé.
+ */
+public interface Versioned {
+
+    /**
+     * Change dès que le JSON produit change ; toString() sert de clé
+     */
+    Object getVersion();
+}
@@ -0,0 +1,180 @@
+package com.giga.spring.log;
+
+import java.io.PrintStream;
+import java.time.LocalTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Tampon circulaire borné, sans verrou côté producteurs : chaque thread réserve une case
+ * par CAS et y dépose son message ; un seul thread démon formate et écrit sur
+ * System.out (TRACE à INFO) ou System.err (WARN, ERROR).
+ * Si le tampon est plein, un message TRACE à INFO est abandonné et compté plutôt que de
+ * bloquer la requête ; WARN et ERROR attendent une case libre.
+ * Au repos, le thread d'écriture dort jusqu'à ce qu'un producteur le réveille ;
+ * shutdown() l'arrête (undeploy), les messages suivants sont alors écrits directement.
+ */
+final class AsyncAppender {
+
+    static final class Event {
+        final Level level;
+        final String logger;
+        final String message;
+        final Throwable error;
+        final String thread;
+        final LocalTime time;
+
+        Event(Level level, String logger, String message, Throwable error) {
+            this.level = level;
+            this.logger = logger;
+            this.message = message;
+            this.error = error;
+            this.thread = Thread.currentThread().getName();
+            this.time = LocalTime.now();
+        }
+    }
+
+    private static final long FULL_PARK_NANOS = 1_000_000L;
+    // Filet de sécurité seulement : le thread est normalement réveillé par unpark()
+    private static final long IDLE_PARK_NANOS = 1_000_000_000L;
+
+    private final AtomicReferenceArray<Event> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();   // prochaine case à réserver
+    private final AtomicLong head = new AtomicLong();   // prochaine case à écrire
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean sleeping;
+    private volatile boolean stopped;
+
+    AsyncAppender(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.writer = new Thread(this::run, "gigaspring-log");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    void append(Event event) {
+        if (stopped) {
+            synchronized (this) {
+                write(event);
+            }
+            return;
+        }
+        while (true) {
+            long sequence = tail.get();
+            if (sequence - head.get() > mask) {
+                if (event.level.compareTo(Level.WARN) < 0) {
+                    dropped.incrementAndGet();
+                    return;
+                }
+                if (stopped) {
+                    append(event); // plus de thread d'écriture : écrit directement
+                    return;
+                }
+                // Les erreurs ne sont jamais perdues : attendre une case libre
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(FULL_PARK_NANOS);
+            } else if (tail.compareAndSet(sequence, sequence + 1)) {
+                slots.set((int) (sequence & mask), event);
+                if (sleeping) {
+                    LockSupport.unpark(writer);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Attend (au plus une seconde) que les messages déjà déposés soient écrits
+     */
+    void flush() {
+        long target = tail.get();
+        long deadline = System.nanoTime() + 1_000_000_000L;
+        while (head.get() < target && System.nanoTime() < deadline) {
+            LockSupport.unpark(writer);
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Écrit les messages en attente puis arrête le thread d'écriture
+     */
+    void shutdown() {
+        stopped = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!writer.isAlive()) {
+            synchronized (this) {
+                drain(); // messages déposés pendant l'arrêt
+            }
+        }
+    }
+
+    private void run() {
+        while (!stopped) {
+            if (!drain()) {
+                // sleeping est publié avant de revérifier le tampon : un producteur qui
+                // dépose un message ensuite voit sleeping et réveille le thread
+                sleeping = true;
+                if (!hasPending()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                sleeping = false;
+            }
+        }
+        synchronized (this) {
+            drain();
+        }
+    }
+
+    private boolean hasPending() {
+        long sequence = head.get();
+        return sequence < tail.get() && slots.get((int) (sequence & mask)) != null;
+    }
+
+    /**
+     * Écrit tout ce qui est publié ; retourne false s'il n'y avait rien
+     */
+    private boolean drain() {
+        boolean wrote = false;
+        long sequence = head.get();
+        while (sequence < tail.get()) {
+            int index = (int) (sequence & mask);
+            Event event = slots.get(index);
+            if (event == null) {
+                break; // case réservée mais pas encore remplie
+            }
+            if (dropped.get() > 0) {
+                System.err.println(LocalTime.now() + " [WARN] AsyncAppender - " + dropped.getAndSet(0)
+                        + " message(s) de log perdus (tampon plein)");
+            }
+            write(event);
+            // La case n'est rendue qu'après l'écriture : flush() attend bien la sortie
+            slots.set(index, null);
+            head.set(++sequence);
+            wrote = true;
+        }
+        if (wrote) {
+            System.out.flush();
+            System.err.flush();
+        }
+        return wrote;
+    }
+
+    private static void write(Event event) {
+        PrintStream out = event.level.compareTo(Level.WARN) >= 0 ? System.err : System.out;
+        out.println(event.time + " [" + event.level + "] " + event.logger
+                + " (" + event.thread + ") - " + event.message);
+        if (event.error != null) {
+            event.error.printStackTrace(out);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.giga.spring.log;
+
+/**
+ * Niveaux de log, du plus bavard au plus grave.
+ */
+public enum Level {
+    TRACE, DEBUG, INFO, WARN, ERROR, OFF
+}
@@ -0,0 +1,79 @@
+package com.giga.spring.log;
+
+/**
+ * Logs du framework. Le niveau est global (init-param "log-level", INFO par défaut) ;
+ * les messages sont remis à un AsyncAppender et écrits par un thread dédié, le thread
+ * de la requête ne touche jamais à System.out.
+ *
+ * <pre>
+ * private static final Logger LOG = Logger.get(MaClasse.class);
+ * if (LOG.isDebugEnabled()) LOG.debug("valeur: " + valeur);
+ * if (Logger.TRACE) LOG.trace("requête " + path);
+ * </pre>
+ */
+public final class Logger {
+
+    /**
+     * Trace des requêtes, activée par -Dgigaspring.trace=true. Constante : quand elle est
+     * fausse, le JIT supprime les blocs {@code if (Logger.TRACE)} et leurs concaténations.
+     */
+    public static final boolean TRACE = Boolean.getBoolean("gigaspring.trace");
+
+    private static volatile Level level = TRACE ? Level.TRACE : Level.INFO;
+    private static final AsyncAppender APPENDER = new AsyncAppender(8192);
+
+    private final String name;
+
+    private Logger(String name) {
+        this.name = name;
+    }
+
+    public static Logger get(Class<?> type) {
+        return new Logger(type.getSimpleName());
+    }
+
+    public static void setLevel(Level newLevel) {
+        level = newLevel;
+    }
+
+    public static Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Écrit les messages en attente (arrêt de l'application)
+     */
+    public static void flush() {
+        APPENDER.flush();
+    }
+
+    /**
+     * Écrit les messages en attente et arrête le thread d'écriture (destroy du servlet),
+     * pour ne pas retenir le classloader de l'application après un redéploiement.
+     * Les messages suivants sont écrits directement par le thread appelant.
+     */
+    public static void shutdown() {
+        APPENDER.shutdown();
+    }
+
+    public boolean isEnabled(Level messageLevel) {
+        return messageLevel.compareTo(level) >= 0 && messageLevel != Level.OFF;
+    }
+
+    public boolean isTraceEnabled() { return TRACE && isEnabled(Level.TRACE); }
+    public boolean isDebugEnabled() { return isEnabled(Level.DEBUG); }
+    public boolean isInfoEnabled() { return isEnabled(Level.INFO); }
+
+    public void trace(String message) { log(Level.TRACE, message, null); }
+    public void debug(String message) { log(Level.DEBUG, message, null); }
+    public void info(String message) { log(Level.INFO, message, null); }
+    public void warn(String message) { log(Level.WARN, message, null); }
+    public void error(String message) { log(Level.ERROR, message, null); }
+    public void error(String message, Throwable error) { log(Level.ERROR, message, error); }
+
+    public void log(Level messageLevel, String message, Throwable error) {
+        if (isEnabled(messageLevel)) {
+            APPENDER.append(new AsyncAppender.Event(messageLevel, name, message, error));
+        }
+    }
+}
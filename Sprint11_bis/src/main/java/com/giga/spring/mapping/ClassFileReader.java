@@ -0,0 +1,125 @@
+package com.giga.spring.mapping;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Lecture minimale d'un fichier .class : nom de la classe et annotations
+ * visibles au niveau de la classe, sans charger ni initialiser la classe.
+ */
+class ClassFileReader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    /**
+     * Retourne le nom binaire (a.b.C) de la classe si elle porte l'annotation
+     * de descripteur donné (ex: "Lcom/giga/spring/annotation/Controller;"), sinon null
+     */
+    static String annotatedClassName(InputStream classFile, String annotationDescriptor) throws IOException {
+        DataInputStream in = new DataInputStream(classFile);
+        if (in.readInt() != MAGIC) return null;
+        in.readUnsignedShort(); // minor
+        in.readUnsignedShort(); // major
+
+        // Pool de constantes : on ne garde que les chaînes et les références de classe
+        int count = in.readUnsignedShort();
+        String[] utf8 = new String[count];
+        int[] classNameIndex = new int[count];
+        boolean mentionsAnnotation = false;
+        for (int i = 1; i < count; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1: // Utf8
+                    utf8[i] = in.readUTF();
+                    if (utf8[i].equals(annotationDescriptor)) mentionsAnnotation = true;
+                    break;
+                case 7: // Class
+                    classNameIndex[i] = in.readUnsignedShort();
+                    break;
+                case 8: case 16: case 19: case 20: // String, MethodType, Module, Package
+                    in.skipBytes(2);
+                    break;
+                case 15: // MethodHandle
+                    in.skipBytes(3);
+                    break;
+                case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18:
+                    in.skipBytes(4);
+                    break;
+                case 5: case 6: // Long, Double : deux entrées
+                    in.skipBytes(8);
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Constante inconnue dans le fichier .class: " + tag);
+            }
+        }
+        if (!mentionsAnnotation) return null; // cas le plus courant, inutile d'aller plus loin
+
+        in.readUnsignedShort(); // access flags
+        String className = utf8[classNameIndex[in.readUnsignedShort()]];
+        in.readUnsignedShort(); // super
+        in.skipBytes(2 * in.readUnsignedShort()); // interfaces
+
+        skipMembers(in); // champs
+        skipMembers(in); // méthodes
+
+        int attributes = in.readUnsignedShort();
+        for (int a = 0; a < attributes; a++) {
+            String name = utf8[in.readUnsignedShort()];
+            int length = in.readInt();
+            if (!"RuntimeVisibleAnnotations".equals(name)) {
+                in.skipBytes(length);
+                continue;
+            }
+            int annotations = in.readUnsignedShort();
+            for (int n = 0; n < annotations; n++) {
+                if (annotationDescriptor.equals(utf8[in.readUnsignedShort()])) {
+                    return className.replace('/', '.');
+                }
+                skipElementValuePairs(in);
+            }
+            return null;
+        }
+        return null;
+    }
+
+    private static void skipMembers(DataInputStream in) throws IOException {
+        int members = in.readUnsignedShort();
+        for (int m = 0; m < members; m++) {
+            in.skipBytes(6); // access, name, descriptor
+            int attributes = in.readUnsignedShort();
+            for (int a = 0; a < attributes; a++) {
+                in.skipBytes(2);
+                in.skipBytes(in.readInt());
+            }
+        }
+    }
+
+    private static void skipElementValuePairs(DataInputStream in) throws IOException {
+        int pairs = in.readUnsignedShort();
+        for (int p = 0; p < pairs; p++) {
+            in.skipBytes(2); // nom
+            skipElementValue(in);
+        }
+    }
+
+    private static void skipElementValue(DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case 'e':
+                in.skipBytes(4);
+                break;
+            case '@':
+                in.skipBytes(2);
+                skipElementValuePairs(in);
+                break;
+            case '[':
+                int values = in.readUnsignedShort();
+                for (int v = 0; v < values; v++) skipElementValue(in);
+                break;
+            default: // constantes et 'c'
+                in.skipBytes(2);
+        }
+    }
+}
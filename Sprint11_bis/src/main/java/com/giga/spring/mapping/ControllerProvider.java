@@ -0,0 +1,162 @@
+package com.giga.spring.mapping;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.giga.spring.annotation.Scope;
+
+/**
+ * Fournit les instances d'un contrôleur, partagé par toutes ses routes, selon son Scope.
+ * <ul>
+ * <li>SINGLETON : une instance ; en mode paresseux elle est créée (et init() appelé) au
+ * premier appel de get(), une seule fois même en concurrence (double vérification).
+ * Si la création échoue, elle sera retentée à l'appel suivant.</li>
+ * <li>REQUEST : une nouvelle instance à chaque acquire().</li>
+ * <li>POOLED : acquire() prend une instance libre dans un pool borné sans verrou
+ * (ou en crée une si le pool est vide), release() l'y remet (ou l'abandonne si le pool est plein).</li>
+ * </ul>
+ * Chaque acquire() doit être suivi d'un release() une fois la requête terminée.
+ */
+public class ControllerProvider {
+
+    private final Class<?> controllerClass;
+    private final Scope scope;
+    private final Object lock = new Object();
+    private volatile Object instance;
+    private final AtomicReferenceArray<Object> pool;
+
+    private ControllerProvider(Class<?> controllerClass, Scope scope, Object instance, int poolSize) {
+        this.controllerClass = controllerClass;
+        this.scope = scope;
+        this.instance = instance;
+        this.pool = scope == Scope.POOLED ? new AtomicReferenceArray<>(poolSize) : null;
+    }
+
+    /**
+     * Contrôleur déjà créé (mode par défaut)
+     */
+    public static ControllerProvider of(Object instance) {
+        return new ControllerProvider(instance.getClass(), Scope.SINGLETON, instance, 0);
+    }
+
+    /**
+     * Contrôleur créé au premier appel
+     */
+    public static ControllerProvider lazy(Class<?> controllerClass) {
+        return new ControllerProvider(controllerClass, Scope.SINGLETON, null, 0);
+    }
+
+    /**
+     * Contrôleur créé à chaque requête
+     */
+    public static ControllerProvider perRequest(Class<?> controllerClass) {
+        return new ControllerProvider(controllerClass, Scope.REQUEST, null, 0);
+    }
+
+    /**
+     * Contrôleurs réutilisés, au plus {@code poolSize} gardés entre deux requêtes
+     * (0 : deux par processeur)
+     */
+    public static ControllerProvider pooled(Class<?> controllerClass, int poolSize) {
+        if (poolSize <= 0) {
+            poolSize = 2 * Runtime.getRuntime().availableProcessors();
+        }
+        return new ControllerProvider(controllerClass, Scope.POOLED, null, poolSize);
+    }
+
+    public Class<?> getControllerClass() { return controllerClass; }
+
+    public Scope getScope() { return scope; }
+
+    public boolean isInitialized() { return instance != null; }
+
+    /**
+     * Instance unique d'un contrôleur SINGLETON.
+     * Refusé pour les autres scopes : une instance prise sans release() viderait le pool.
+     */
+    public Object get() {
+        if (scope != Scope.SINGLETON) {
+            throw new IllegalStateException(controllerClass.getName() + " has scope " + scope
+                    + ": use acquire() and release()");
+        }
+        Object result = instance;
+        if (result == null) {
+            synchronized (lock) {
+                result = instance;
+                if (result == null) {
+                    result = create(controllerClass);
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Instance à utiliser pour une requête
+     */
+    public Object acquire() {
+        if (scope == Scope.SINGLETON) {
+            return get();
+        }
+        if (scope == Scope.POOLED) {
+            int size = pool.length();
+            int start = slot(size);
+            for (int i = 0; i < size; i++) {
+                int index = (start + i) % size;
+                Object pooled = pool.get(index);
+                if (pooled != null && pool.compareAndSet(index, pooled, null)) {
+                    return pooled;
+                }
+            }
+        }
+        return create(controllerClass);
+    }
+
+    /**
+     * Rend une instance obtenue par acquire(), une seule fois et seulement quand
+     * l'appel est réellement terminé (pour un CompletionStage : à sa fin, pas au timeout).
+     * Une instance déjà présente dans le pool est ignorée : un double release ne doit pas
+     * la confier à deux requêtes à la fois.
+     */
+    public void release(Object controller) {
+        if (scope != Scope.POOLED || controller == null) {
+            return;
+        }
+        int size = pool.length();
+        for (int i = 0; i < size; i++) {
+            if (pool.get(i) == controller) {
+                return;
+            }
+        }
+        int start = slot(size);
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % size;
+            if (pool.get(index) == null && pool.compareAndSet(index, null, controller)) {
+                return;
+            }
+        }
+        // pool plein : l'instance est abandonnée
+    }
+
+    // Point de départ propre au thread, pour éviter que tous se disputent la case 0
+    private static int slot(int size) {
+        return (int) (Thread.currentThread().threadId() % size);
+    }
+
+    /**
+     * Instancie le contrôleur et appelle init() s'il hérite de Controller
+     */
+    static Object create(Class<?> controllerClass) {
+        try {
+            Object controller = controllerClass.getDeclaredConstructor().newInstance();
+            if (controller instanceof com.giga.spring.controller.Controller) {
+                ((com.giga.spring.controller.Controller) controller).init();
+            }
+            return controller;
+        } catch (ReflectiveOperationException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new IllegalStateException("Erreur création contrôleur " + controllerClass.getName()
+                    + ": " + cause.getMessage(), cause);
+        }
+    }
+}
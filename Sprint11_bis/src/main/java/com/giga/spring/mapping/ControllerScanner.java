@@ -1,63 +1,212 @@
 package com.giga.spring.mapping;
 
-import java.io.File;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.lang.reflect.Method;
+import java.net.JarURLConnection;
 import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.giga.spring.annotation.Controller;
 import com.giga.spring.annotation.URLMapping;
 import com.giga.spring.annotation.GetUrl;
 import com.giga.spring.annotation.PostUrl;
+import com.giga.spring.annotation.Scope;
+import com.giga.spring.handler.HandlerPlan;
+import com.giga.spring.handler.MethodInvoker;
+import com.giga.spring.log.Logger;
 
+/**
+ * Recherche des contrôleurs d'un package.
+ * Les fichiers .class des répertoires et des JAR sont lus en parallèle, sans charger
+ * les classes, et seules celles annotées @Controller sont chargées.
+ * Sur demande (init-param controller-index=true), une racine du classpath qui contient
+ * un index généré à la compilation (ControllerIndexProcessor) est lue depuis cet index ;
+ * les autres racines sont toujours parcourues.
+ */
 public class ControllerScanner {
+
+    private static final Logger LOG = Logger.get(ControllerScanner.class);
+
+    /** Index des contrôleurs écrit par le processeur d'annotations */
+    public static final String INDEX_RESOURCE = "META-INF/gigaspring/controllers.idx";
+
+    private static final String CONTROLLER_DESCRIPTOR =
+            "L" + Controller.class.getName().replace('.', '/') + ";";
+
     public static List<URLRoute> scanPackage(String packageName) {
+        return scanPackage(packageName, MethodInvoker.METHOD_HANDLE);
+    }
+
+    public static List<URLRoute> scanPackage(String packageName, String invokerMode) {
+        return scanPackage(packageName, invokerMode, false);
+    }
+
+    public static List<URLRoute> scanPackage(String packageName, String invokerMode, boolean lazy) {
+        return scanPackage(packageName, invokerMode, lazy, false);
+    }
+
+    /**
+     * @param lazy true : tous les contrôleurs sont créés au premier appel ;
+     *             false : seuls ceux annotés @Controller(lazy = true)
+     * @param useIndex true : les racines qui ont un index ne sont pas parcourues
+     */
+    public static List<URLRoute> scanPackage(String packageName, String invokerMode, boolean lazy, boolean useIndex) {
         List<URLRoute> routes = new ArrayList<>();
         try {
             ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-            String path = packageName.replace('.', '/');
+            TreeSet<String> classNames = findControllerClasses(classLoader, packageName, useIndex);
+            for (String className : classNames) {
+                routes.addAll(scanClass(classLoader, className, invokerMode, lazy));
+            }
+        } catch (Exception e) {
+            LOG.error("Erreur scan package: " + e.getMessage());
+        }
+        return routes;
+    }
+
+    /**
+     * Ajoute les contrôleurs du package listés dans un index
+     */
+    private static void readIndex(InputStream index, String packageName, TreeSet<String> classNames) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(index, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#") && isInPackage(line, packageName)) {
+                    classNames.add(line);
+                }
+            }
+        }
+    }
+
+    private static boolean isInPackage(String className, String packageName) {
+        return className.startsWith(packageName + ".");
+    }
+
+    /**
+     * Parcourt les répertoires et les JAR du package, puis lit les .class en parallèle.
+     * Avec {@code useIndex}, une racine qui a son propre index est lue depuis celui-ci.
+     */
+    private static TreeSet<String> findControllerClasses(ClassLoader classLoader, String packageName,
+                                                         boolean useIndex) throws Exception {
+        String path = packageName.replace('.', '/');
+        int depth = path.split("/").length;
+        TreeSet<String> indexed = new TreeSet<>();
+        List<ClassSource> sources = new ArrayList<>();
+        List<JarFile> jars = new ArrayList<>();
+        try {
             Enumeration<URL> resources = classLoader.getResources(path);
-            List<File> dirs = new ArrayList<>();
             while (resources.hasMoreElements()) {
                 URL resource = resources.nextElement();
-                dirs.add(new File(resource.getFile()));
+                if ("file".equals(resource.getProtocol())) {
+                    Path directory = Paths.get(resource.toURI());
+                    Path root = directory;
+                    for (int i = 0; i < depth && root != null; i++) root = root.getParent();
+                    Path index = root != null ? root.resolve(INDEX_RESOURCE) : null;
+                    if (useIndex && index != null && Files.isRegularFile(index)) {
+                        readIndex(Files.newInputStream(index), packageName, indexed);
+                        LOG.info("Index des contrôleurs utilisé: " + index);
+                    } else {
+                        collectDirectory(directory, sources);
+                    }
+                } else if ("jar".equals(resource.getProtocol())) {
+                    URLConnection connection = resource.openConnection();
+                    connection.setUseCaches(false);
+                    JarFile jar = ((JarURLConnection) connection).getJarFile();
+                    jars.add(jar);
+                    JarEntry index = useIndex ? jar.getJarEntry(INDEX_RESOURCE) : null;
+                    if (index != null) {
+                        readIndex(jar.getInputStream(index), packageName, indexed);
+                        LOG.info("Index des contrôleurs utilisé: " + jar.getName());
+                    } else {
+                        collectJar(jar, path + "/", sources);
+                    }
+                } else {
+                    LOG.warn("Erreur scan package: protocole non géré " + resource);
+                }
             }
-            for (File directory : dirs) {
-                routes.addAll(findControllers(directory, packageName));
+
+            TreeSet<String> classNames = sources.parallelStream()
+                    .map(ControllerScanner::readControllerName)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toCollection(TreeSet::new));
+            classNames.addAll(indexed);
+            return classNames;
+        } finally {
+            for (JarFile jar : jars) {
+                jar.close();
             }
-        } catch (Exception e) {
-            System.err.println("Erreur scan package: " + e.getMessage());
         }
-        return routes;
     }
 
-    private static List<URLRoute> findControllers(File directory, String packageName) {
-        List<URLRoute> routes = new ArrayList<>();
-        if (!directory.exists()) return routes;
-        File[] files = directory.listFiles();
-        if (files == null) return routes;
-        for (File file : files) {
-            if (file.isDirectory()) {
-                routes.addAll(findControllers(file, packageName + "." + file.getName()));
-            } else if (file.getName().endsWith(".class")) {
-                String className = packageName + '.' + file.getName().substring(0, file.getName().length() - 6);
-                routes.addAll(scanClass(className));
+    /**
+     * Fichier .class à lire, dans un répertoire ou dans un JAR
+     */
+    private interface ClassSource {
+        InputStream open() throws IOException;
+    }
+
+    private static void collectDirectory(Path directory, List<ClassSource> sources) throws IOException {
+        if (!Files.isDirectory(directory)) return;
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(file -> file.toString().endsWith(".class"))
+                 .forEach(file -> sources.add(() -> Files.newInputStream(file)));
+        }
+    }
+
+    private static void collectJar(JarFile jar, String prefix, List<ClassSource> sources) {
+        Enumeration<JarEntry> entries = jar.entries();
+        while (entries.hasMoreElements()) {
+            JarEntry entry = entries.nextElement();
+            if (!entry.isDirectory() && entry.getName().startsWith(prefix) && entry.getName().endsWith(".class")) {
+                sources.add(() -> jar.getInputStream(entry));
             }
         }
-        return routes;
     }
 
-    private static List<URLRoute> scanClass(String className) {
+    private static String readControllerName(ClassSource source) {
+        try (InputStream in = source.open()) {
+            return ClassFileReader.annotatedClassName(in, CONTROLLER_DESCRIPTOR);
+        } catch (IOException e) {
+            LOG.warn("Erreur lecture classe: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static List<URLRoute> scanClass(ClassLoader classLoader, String className,
+                                            String invokerMode, boolean lazy) {
         List<URLRoute> routes = new ArrayList<>();
         try {
-            Class<?> clazz = Class.forName(className);
-            if (!clazz.isAnnotationPresent(Controller.class)) return routes;
+            Class<?> clazz = Class.forName(className, false, classLoader); // initialisée à la création de l'instance
+            Controller annotation = clazz.getAnnotation(Controller.class);
+            if (annotation == null) return routes;
 
-            Object controller = clazz.getDeclaredConstructor().newInstance();
-            if (controller instanceof com.giga.spring.controller.Controller) {
-                ((com.giga.spring.controller.Controller) controller).init();
+            // Un seul fournisseur par classe, partagé par toutes ses routes
+            ControllerProvider controller;
+            if (annotation.scope() == Scope.REQUEST) {
+                controller = ControllerProvider.perRequest(clazz);
+            } else if (annotation.scope() == Scope.POOLED) {
+                controller = ControllerProvider.pooled(clazz, annotation.poolSize());
+            } else if (lazy || annotation.lazy()) {
+                controller = ControllerProvider.lazy(clazz);
+            } else {
+                controller = ControllerProvider.of(ControllerProvider.create(clazz));
             }
 
             for (Method method : clazz.getDeclaredMethods()) {
@@ -70,8 +219,13 @@ public class ControllerScanner {
                 URLMapping mapping = method.getAnnotation(URLMapping.class);
                 if (mapping != null && get == null && post == null) routes.add(new URLRoute(mapping.value(), controller, method, "ANY"));
             }
+
+            // Plans d'invocation calculés une fois pour toutes au démarrage
+            for (URLRoute route : routes) {
+                route.setHandlerPlan(HandlerPlan.build(route, invokerMode));
+            }
         } catch (Exception e) {
-            System.err.println("Erreur scan classe " + className + ": " + e.getMessage());
+            LOG.error("Erreur scan classe " + className + ": " + e.getMessage());
         }
         return routes;
     }
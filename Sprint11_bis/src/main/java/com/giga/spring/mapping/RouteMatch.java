@@ -0,0 +1,32 @@
+package com.giga.spring.mapping;
+
+/**
+ * Résultat d'une recherche de route : la route trouvée et les valeurs
+ * des paramètres d'URL, rangées dans l'ordre de {@link URLRoute#getParamNames()}.
+ */
+public class RouteMatch {
+    private final URLRoute route;
+    private final String[] paramValues;
+
+    public RouteMatch(URLRoute route, String[] paramValues) {
+        this.route = route;
+        this.paramValues = paramValues;
+    }
+
+    public URLRoute getRoute() { return route; }
+    public String[] getParamValues() { return paramValues; }
+
+    /** Index du paramètre d'URL dans la route, -1 s'il n'existe pas */
+    public int indexOf(String name) {
+        String[] names = route.getParamNames();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) return i;
+        }
+        return -1;
+    }
+
+    public String getParam(String name) {
+        int index = indexOf(name);
+        return index >= 0 ? paramValues[index] : null;
+    }
+}
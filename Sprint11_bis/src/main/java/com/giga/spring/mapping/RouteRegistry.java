@@ -5,12 +5,17 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.giga.spring.handler.HandlerPlan;
+
 public class RouteRegistry {
     private final Map<String, List<URLRoute>> routeMap = new HashMap<>();
+    private final RouteTrie routeTrie = new RouteTrie();
 
     public void registerRoute(URLRoute route) {
+        if (route.getHandlerPlan() == null) route.setHandlerPlan(HandlerPlan.build(route));
         String url = route.getUrlPattern();
         routeMap.computeIfAbsent(url, k -> new ArrayList<>()).add(route);
+        routeTrie.add(route);
     }
 
     public void registerRoutes(List<URLRoute> routes) {
@@ -18,12 +23,12 @@ public class RouteRegistry {
     }
 
     public URLRoute findRoute(String url, String httpMethod) {
-        for (List<URLRoute> routes : routeMap.values()) {
-            for (URLRoute route : routes) {
-                if (route.matches(url) && route.matchesHttpMethod(httpMethod)) return route;
-            }
-        }
-        return null;
+        RouteMatch match = routeTrie.find(url, httpMethod);
+        return match != null ? match.getRoute() : null;
+    }
+
+    public RouteMatch match(String url, String httpMethod) {
+        return routeTrie.find(url, httpMethod);
     }
 
     public List<URLRoute> getAllRoutes() {
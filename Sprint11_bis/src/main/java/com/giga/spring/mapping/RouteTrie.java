@@ -0,0 +1,85 @@
+package com.giga.spring.mapping;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index des routes sous forme d'arbre de segments.
+ * Les segments littéraux sont essayés avant les segments {param} ;
+ * la recherche ne dépend que de la profondeur de l'URL, pas du nombre de routes.
+ */
+public class RouteTrie {
+
+    private static class Node {
+        Map<String, Node> literals;
+        Node param;
+        List<URLRoute> routes;
+    }
+
+    private final Node root = new Node();
+    private int maxParams;
+
+    public void add(URLRoute route) {
+        Node node = root;
+        int params = 0;
+        for (String part : route.getUrlPattern().split("/")) {
+            if (part.isEmpty()) continue;
+            if (part.startsWith("{") && part.endsWith("}")) {
+                if (node.param == null) node.param = new Node();
+                node = node.param;
+                params++;
+            } else {
+                if (node.literals == null) node.literals = new HashMap<>();
+                node = node.literals.computeIfAbsent(part, k -> new Node());
+            }
+        }
+        if (node.routes == null) node.routes = new ArrayList<>();
+        node.routes.add(route);
+        if (params > maxParams) maxParams = params;
+    }
+
+    /**
+     * Cherche la route correspondant à l'URL et à la méthode HTTP,
+     * en extrayant les paramètres d'URL au passage. Retourne null si aucune route.
+     */
+    public RouteMatch find(String url, String httpMethod) {
+        if (!url.isEmpty() && url.charAt(0) != '/') return null;
+        return find(root, url, 0, new String[maxParams], 0, httpMethod);
+    }
+
+    private RouteMatch find(Node node, String url, int start, String[] values, int count, String httpMethod) {
+        if (start == url.length()) {
+            if (node.routes == null) return null;
+            for (URLRoute route : node.routes) {
+                if (route.matchesHttpMethod(httpMethod)) {
+                    String[] params = new String[count];
+                    System.arraycopy(values, 0, params, 0, count);
+                    return new RouteMatch(route, params);
+                }
+            }
+            return null;
+        }
+
+        // url.charAt(start) == '/' : lire le segment suivant
+        int segStart = start + 1;
+        int end = url.indexOf('/', segStart);
+        if (end < 0) end = url.length();
+        if (end == segStart) return null; // segment vide, comme la regex ([^/]+)
+
+        String segment = url.substring(segStart, end);
+        if (node.literals != null) {
+            Node child = node.literals.get(segment);
+            if (child != null) {
+                RouteMatch match = find(child, url, end, values, count, httpMethod);
+                if (match != null) return match;
+            }
+        }
+        if (node.param != null) {
+            values[count] = segment;
+            return find(node.param, url, end, values, count + 1, httpMethod);
+        }
+        return null;
+    }
+}
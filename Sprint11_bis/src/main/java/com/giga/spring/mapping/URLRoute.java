@@ -6,17 +6,29 @@ import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import com.giga.spring.handler.HandlerPlan;
+import com.giga.spring.metrics.RouteMetrics;
+
 public class URLRoute {
     private final String urlPattern;
-    private final Object controller;
+    private final ControllerProvider controllerProvider;
     private final Method method;
     private final Pattern regex;
     private final String[] paramNames;
     private final String httpMethod;
+    private HandlerPlan handlerPlan;
+    private final RouteMetrics metrics = new RouteMetrics();
 
     public URLRoute(String urlPattern, Object controller, Method method, String httpMethod) {
+        this(urlPattern, ControllerProvider.of(controller), method, httpMethod);
+    }
+
+    /**
+     * Route dont le contrôleur est fourni par un ControllerProvider (éventuellement paresseux)
+     */
+    public URLRoute(String urlPattern, ControllerProvider controllerProvider, Method method, String httpMethod) {
         this.urlPattern = urlPattern;
-        this.controller = controller;
+        this.controllerProvider = controllerProvider;
         this.method = method;
         this.httpMethod = (httpMethod==null||httpMethod.isEmpty())?"ANY":httpMethod.toUpperCase();
 
@@ -48,17 +60,39 @@ public class URLRoute {
         return requestMethod.equalsIgnoreCase(this.httpMethod);
     }
 
+    /**
+     * Teste l'URL et extrait les paramètres en une seule passe de regex.
+     * Retourne null si l'URL ne correspond pas.
+     */
+    public RouteMatch match(String url) {
+        Matcher matcher = regex.matcher(url);
+        if (!matcher.matches()) return null;
+        String[] values = new String[paramNames.length];
+        for (int i = 0; i < paramNames.length; i++) values[i] = matcher.group(i + 1);
+        return new RouteMatch(this, values);
+    }
+
     public Map<String, String> extractParams(String url) {
         Map<String, String> params = new HashMap<>();
-        Matcher matcher = regex.matcher(url);
-        if (matcher.matches()) {
-            for (int i = 0; i < paramNames.length; i++) params.put(paramNames[i], matcher.group(i + 1));
+        RouteMatch match = match(url);
+        if (match != null) {
+            String[] values = match.getParamValues();
+            for (int i = 0; i < paramNames.length; i++) params.put(paramNames[i], values[i]);
         }
         return params;
     }
 
     public String getUrlPattern() { return urlPattern; }
-    public Object getController() { return controller; }
+    /**
+     * Instance d'un contrôleur SINGLETON, créée au premier appel en mode paresseux.
+     * IllegalStateException pour les scopes REQUEST et POOLED : passer par getControllerProvider().
+     */
+    public Object getController() { return controllerProvider.get(); }
+    public ControllerProvider getControllerProvider() { return controllerProvider; }
     public Method getMethod() { return method; }
     public String getHttpMethod() { return httpMethod; }
+    public String[] getParamNames() { return paramNames; }
+    public HandlerPlan getHandlerPlan() { return handlerPlan; }
+    public void setHandlerPlan(HandlerPlan handlerPlan) { this.handlerPlan = handlerPlan; }
+    public RouteMetrics getMetrics() { return metrics; }
 }
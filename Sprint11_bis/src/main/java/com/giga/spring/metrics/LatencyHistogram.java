@@ -0,0 +1,101 @@
+package com.giga.spring.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogramme de latences façon HDR : intervalles log-linéaires en microsecondes,
+ * quatre sous-intervalles par puissance de 2 (précision ~25 %), de 0 à ~70 minutes.
+ * L'enregistrement est sans verrou : chaque thread incrémente sa bande (stripe)
+ * d'un AtomicLongArray, les bandes ne sont additionnées qu'à la lecture.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 32;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+    private static final int STRIPES = 4;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS * STRIPES);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    public void recordNanos(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        int stripe = (int) (Thread.currentThread().threadId() & (STRIPES - 1));
+        counts.getAndIncrement(stripe * BUCKETS + bucketOf(micros));
+        count.increment();
+        totalMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    public long getCount() { return count.sum(); }
+
+    public long getTotalMicros() { return totalMicros.sum(); }
+
+    static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) return (int) micros;
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) return BUCKETS - 1;
+        int sub = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    // Borne basse de l'intervalle
+    static long lowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + sub) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    /**
+     * Nombre, moyenne, percentiles (milieu de l'intervalle) et max, en millisecondes
+     */
+    public Map<String, Object> snapshot() {
+        long[] merged = new long[BUCKETS];
+        long total = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            for (int b = 0; b < BUCKETS; b++) {
+                long c = counts.get(stripe * BUCKETS + b);
+                merged[b] += c;
+                total += c;
+            }
+        }
+        long max = maxMicros.get();
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("count", total);
+        snapshot.put("meanMs", total == 0 ? 0.0 : millis((double) totalMicros.sum() / count.sum()));
+        snapshot.put("p50Ms", percentile(merged, total, 0.50, max));
+        snapshot.put("p90Ms", percentile(merged, total, 0.90, max));
+        snapshot.put("p99Ms", percentile(merged, total, 0.99, max));
+        snapshot.put("p999Ms", percentile(merged, total, 0.999, max));
+        snapshot.put("maxMs", millis(max));
+        return snapshot;
+    }
+
+    private static double percentile(long[] buckets, long total, double quantile, long max) {
+        if (total == 0) return 0.0;
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += buckets[b];
+            if (seen >= rank) {
+                long low = lowerBound(b);
+                long high = b + 1 < BUCKETS ? lowerBound(b + 1) : low;
+                return millis(Math.min(max, (low + high) / 2.0));
+            }
+        }
+        return millis(max);
+    }
+
+    private static double millis(double micros) {
+        return Math.round(micros) / 1000.0;
+    }
+}
@@ -0,0 +1,43 @@
+package com.giga.spring.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.giga.spring.mapping.URLRoute;
+
+/**
+ * Rapport servi sur l'URL "metrics-path" : routes triées par temps total cumulé
+ * (les plus coûteuses d'abord), avec débit moyen depuis le démarrage.
+ */
+public class MetricsReport {
+
+    public static Map<String, Object> build(List<URLRoute> routes, RouteMetrics notFound, long startedAtMillis) {
+        double uptimeSeconds = Math.max(1, System.currentTimeMillis() - startedAtMillis) / 1000.0;
+
+        List<URLRoute> sorted = new ArrayList<>(routes);
+        sorted.sort(Comparator.comparingLong((URLRoute r) -> r.getMetrics().getTotalMicros()).reversed());
+
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (URLRoute route : sorted) {
+            RouteMetrics metrics = route.getMetrics();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("route", route.getUrlPattern());
+            entry.put("method", route.getHttpMethod());
+            entry.put("handler", route.getMethod().getDeclaringClass().getSimpleName() + "." + route.getMethod().getName());
+            entry.put("requests", metrics.getRequests());
+            entry.put("errors", metrics.getErrors());
+            entry.put("throughputPerSec", Math.round(metrics.getRequests() / uptimeSeconds * 100) / 100.0);
+            entry.put("phases", metrics.snapshot());
+            entries.add(entry);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("uptimeSeconds", Math.round(uptimeSeconds));
+        report.put("routes", entries);
+        report.put("notFound", notFound.snapshot());
+        return report;
+    }
+}
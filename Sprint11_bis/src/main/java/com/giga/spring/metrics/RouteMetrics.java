@@ -0,0 +1,78 @@
+package com.giga.spring.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs et histogrammes d'une route, une entrée par phase du traitement.
+ * Les histogrammes ne sont créés qu'au premier enregistrement : une route jamais
+ * appelée ne coûte presque rien.
+ */
+public class RouteMetrics {
+
+    public enum Phase {
+        /** Recherche de la route */
+        LOOKUP,
+        /** Préparation des arguments (binding, uploads) */
+        BINDING,
+        /** Appel de la méthode du contrôleur */
+        INVOCATION,
+        /** Écriture de la réponse (JSON, vue, texte) */
+        RENDERING,
+        /** Requête complète, résultats asynchrones compris */
+        TOTAL
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final AtomicReferenceArray<LatencyHistogram> histograms = new AtomicReferenceArray<>(PHASES.length);
+    private final LongAdder errors = new LongAdder();
+
+    public void record(Phase phase, long nanos) {
+        histogram(phase).recordNanos(nanos);
+    }
+
+    public void recordError() {
+        errors.increment();
+    }
+
+    public long getRequests() {
+        LatencyHistogram total = histograms.get(Phase.TOTAL.ordinal());
+        return total != null ? total.getCount() : 0;
+    }
+
+    public long getErrors() { return errors.sum(); }
+
+    /** Temps total cumulé (µs), pour classer les routes les plus coûteuses */
+    public long getTotalMicros() {
+        LatencyHistogram total = histograms.get(Phase.TOTAL.ordinal());
+        return total != null ? total.getTotalMicros() : 0;
+    }
+
+    private LatencyHistogram histogram(Phase phase) {
+        LatencyHistogram histogram = histograms.get(phase.ordinal());
+        if (histogram == null) {
+            histogram = new LatencyHistogram();
+            if (!histograms.compareAndSet(phase.ordinal(), null, histogram)) {
+                histogram = histograms.get(phase.ordinal());
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Phases enregistrées, indexées par nom ("lookup", "binding"...)
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> phases = new LinkedHashMap<>();
+        for (Phase phase : PHASES) {
+            LatencyHistogram histogram = histograms.get(phase.ordinal());
+            if (histogram != null) {
+                phases.put(phase.name().toLowerCase(), histogram.snapshot());
+            }
+        }
+        return phases;
+    }
+}
@@ -0,0 +1,76 @@
+package com.giga.spring.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Processeur d'annotations (optionnel) : écrit à la compilation la liste des classes
+ * @Controller dans META-INF/gigaspring/controllers.idx. Avec l'init-param
+ * controller-index=true, ControllerScanner lit cet index au lieu de parcourir
+ * la racine du classpath qui le contient.
+ * Non enregistré dans META-INF/services : à activer explicitement
+ * (-processor com.giga.spring.processor.ControllerIndexProcessor, ou
+ * annotationProcessors du maven-compiler-plugin).
+ * L'index ne contient que les classes de la compilation : une compilation
+ * incrémentale peut le laisser incomplet, recompiler entièrement après l'ajout d'un contrôleur.
+ */
+@SupportedAnnotationTypes("com.giga.spring.annotation.Controller")
+public class ControllerIndexProcessor extends AbstractProcessor {
+
+    private static final String INDEX_RESOURCE = "META-INF/gigaspring/controllers.idx";
+
+    private final Set<String> controllers = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.CLASS) {
+                    controllers.add(processingEnv.getElementUtils()
+                            .getBinaryName((TypeElement) element).toString());
+                }
+            }
+        }
+
+        if (roundEnv.processingOver() && !controllers.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject index = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            try (Writer writer = index.openWriter()) {
+                writer.write("# Contrôleurs GigaSpring, généré à la compilation\n");
+                for (String controller : controllers) {
+                    writer.write(controller);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Index des contrôleurs non écrit: " + e.getMessage());
+        }
+    }
+}
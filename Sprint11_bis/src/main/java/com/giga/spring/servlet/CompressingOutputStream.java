@@ -0,0 +1,136 @@
+package com.giga.spring.servlet;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Corps de réponse gardé en mémoire jusqu'à minSize octets : s'il reste plus petit, il est
+ * envoyé tel quel avec Content-Length ; au-delà (ou sans codage accepté, dès le début),
+ * il part en flux, compressé avec un Deflater du pool de ResponseCompression.
+ */
+public class CompressingOutputStream extends OutputStream {
+
+    private static final byte[] GZIP_HEADER = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+
+    private final ResponseCompression compression;
+    private final HttpServletResponse res;
+    private final String encoding;
+    private byte[] buffer;
+    private int count;
+
+    private OutputStream target;
+    private Deflater deflater;
+    private CRC32 crc;
+    private boolean closed;
+
+    CompressingOutputStream(ResponseCompression compression, HttpServletResponse res, String encoding, int minSize) {
+        this.compression = compression;
+        this.res = res;
+        this.encoding = encoding;
+        this.buffer = new byte[Math.max(minSize, 1)];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (target == null && count < buffer.length) {
+            buffer[count++] = (byte) b;
+        } else {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (closed) throw new IOException("Stream closed");
+        if (target == null) {
+            if (count + len <= buffer.length) {
+                System.arraycopy(b, off, buffer, count, len);
+                count += len;
+                return;
+            }
+            start();
+        }
+        if (crc != null) crc.update(b, off, len);
+        target.write(b, off, len);
+    }
+
+    /**
+     * Seuil dépassé : en-têtes de codage puis vidage du tampon dans le flux compressé
+     */
+    private void start() throws IOException {
+        OutputStream raw = res.getOutputStream();
+        if (encoding == null) {
+            target = raw;
+        } else {
+            res.setHeader("Content-Encoding", encoding);
+            deflater = compression.acquire(encoding);
+            if (ResponseCompression.GZIP.equals(encoding)) {
+                raw.write(GZIP_HEADER);
+                crc = new CRC32();
+                crc.update(buffer, 0, count);
+            }
+            target = new DeflaterOutputStream(raw, deflater, 8192);
+        }
+        target.write(buffer, 0, count);
+        buffer = null;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        // Avant le seuil rien n'est envoyé : la taille finale décide encore de la compression
+        if (target != null) target.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        if (target == null) {
+            res.setContentLength(count);
+            OutputStream raw = res.getOutputStream();
+            raw.write(buffer, 0, count);
+            raw.close();
+            return;
+        }
+        try {
+            if (deflater != null) {
+                ((DeflaterOutputStream) target).finish();
+                if (crc != null) {
+                    OutputStream raw = res.getOutputStream();
+                    writeIntLE(raw, (int) crc.getValue());
+                    writeIntLE(raw, (int) deflater.getBytesRead());
+                }
+            }
+            res.getOutputStream().close();
+        } finally {
+            releaseDeflater();
+        }
+    }
+
+    /**
+     * Abandonne la réponse (erreur avant l'envoi) : rend le Deflater sans rien écrire de plus
+     */
+    public void abort() {
+        closed = true;
+        releaseDeflater();
+    }
+
+    private void releaseDeflater() {
+        if (deflater != null) {
+            compression.release(encoding, deflater);
+            deflater = null;
+        }
+    }
+
+    private static void writeIntLE(OutputStream out, int value) throws IOException {
+        out.write(value & 0xff);
+        out.write((value >>> 8) & 0xff);
+        out.write((value >>> 16) & 0xff);
+        out.write((value >>> 24) & 0xff);
+    }
+}
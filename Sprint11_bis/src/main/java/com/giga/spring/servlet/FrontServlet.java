@@ -1,29 +1,54 @@
 package com.giga.spring.servlet;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.Writer;
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import com.giga.spring.annotation.Json;
 import com.giga.spring.annotation.Authorized;
-import com.giga.spring.annotation.RequestParam;
-import com.giga.spring.binding.ObjectBinder;
+import com.giga.spring.binding.ParamTree;
+import com.giga.spring.cache.CachedResponse;
+import com.giga.spring.cache.ResponseCache;
+import com.giga.spring.handler.HandlerPlan;
+import com.giga.spring.handler.MethodInvoker;
 import com.giga.spring.json.JsonConverter;
+import com.giga.spring.json.JsonEtag;
+import com.giga.spring.json.JsonResponse;
+import com.giga.spring.json.Versioned;
+import com.giga.spring.mapping.ControllerProvider;
 import com.giga.spring.mapping.ControllerScanner;
+import com.giga.spring.mapping.RouteMatch;
 import com.giga.spring.mapping.RouteRegistry;
 import com.giga.spring.mapping.URLRoute;
+import com.giga.spring.metrics.MetricsReport;
+import com.giga.spring.metrics.RouteMetrics;
+import com.giga.spring.metrics.RouteMetrics.Phase;
 import com.giga.spring.model.ModelView;
 import com.giga.spring.upload.FileUploadUtils;
-import com.giga.spring.upload.UploadedFile;
+import com.giga.spring.log.Level;
+import com.giga.spring.log.Logger;
 
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.RequestDispatcher;
 import jakarta.servlet.ServletConfig;
 import jakarta.servlet.ServletException;
@@ -40,8 +65,20 @@ import jakarta.servlet.http.HttpServletResponse;
 )
 public class FrontServlet extends HttpServlet {
 
+    private static final Logger LOG = Logger.get(FrontServlet.class);
+
     RequestDispatcher defaultDispatcher;
     RouteRegistry routeRegistry;
+    StaticResourceIndex staticResources;
+    StaticFileHandler staticFiles;
+    ResponseCompression compression;
+    long asyncTimeout;
+    boolean virtualByDefault;
+    Semaphore virtualPermits;
+    ExecutorService virtualExecutor;
+    String metricsPath;
+    RouteMetrics notFoundMetrics;
+    long startedAt;
 
     @Override
     public void init(ServletConfig config) throws ServletException {
@@ -54,17 +91,94 @@ public class FrontServlet extends HttpServlet {
             basePackage = "com.giga.spring.controller";
         }
 
-        List<URLRoute> routes = ControllerScanner.scanPackage(basePackage);
+        // Mode d'invocation des contrôleurs: "methodhandle" (défaut) ou "reflection"
+        String invokerMode = config.getInitParameter("invoker");
+        if (invokerMode == null || invokerMode.isEmpty()) {
+            invokerMode = MethodInvoker.METHOD_HANDLE;
+        }
+
+        // Délai max (ms) des contrôleurs qui retournent un CompletableFuture
+        String timeout = config.getInitParameter("async-timeout");
+        asyncTimeout = (timeout == null || timeout.isEmpty()) ? 30000L : Long.parseLong(timeout);
+
+        // "virtual" : chaque appel de contrôleur sur un thread virtuel (sauf @VirtualThread(false))
+        // (exécuteur créé après le scan, seulement si une route peut s'en servir)
+        virtualByDefault = "virtual".equalsIgnoreCase(config.getInitParameter("execution-mode"));
+
+        // Ressources statiques listées une fois ; absences gardées "static-negative-ttl" ms
+        String negativeTtl = config.getInitParameter("static-negative-ttl");
+        staticResources = new StaticResourceIndex(getServletContext(),
+                (negativeTtl == null || negativeTtl.isEmpty()) ? 5000L : Long.parseLong(negativeTtl), 10_000);
+
+        // Fichiers statiques servis par le framework (ETag, 304, Range, .br/.gz) ;
+        // "static-handler" = false : tout passe par le servlet "default" du conteneur
+        if (!"false".equalsIgnoreCase(config.getInitParameter("static-handler"))) {
+            staticFiles = new StaticFileHandler(getServletContext(),
+                    config.getInitParameter("static-cache-control"));
+        }
+
+        // URL du rapport de métriques (ex: "/_metrics") ; absent : aucune mesure
+        metricsPath = config.getInitParameter("metrics-path");
+        if (metricsPath != null && metricsPath.isEmpty()) {
+            metricsPath = null;
+        }
+        notFoundMetrics = new RouteMetrics();
+        startedAt = System.currentTimeMillis();
+
+        // Niveau des logs du framework : TRACE, DEBUG, INFO (défaut), WARN, ERROR ou OFF
+        String logLevel = config.getInitParameter("log-level");
+        if (logLevel != null && !logLevel.isEmpty()) {
+            Logger.setLevel(Level.valueOf(logLevel.trim().toUpperCase()));
+        }
+
+        // Compression gzip/deflate des réponses JSON et String ("compression" = false pour la couper)
+        if (!"false".equalsIgnoreCase(config.getInitParameter("compression"))) {
+            String minSize = config.getInitParameter("compression-min-size");
+            String level = config.getInitParameter("compression-level");
+            compression = new ResponseCompression(
+                    (minSize == null || minSize.isEmpty()) ? 1024 : Integer.parseInt(minSize),
+                    (level == null || level.isEmpty()) ? 6 : Integer.parseInt(level),
+                    Runtime.getRuntime().availableProcessors() * 4);
+        }
+
+        // Plus grand index accepté dans les paramètres ("items[i].x") ; au-delà, ignorés
+        String indexLimit = config.getInitParameter("binding-max-index");
+        if (indexLimit != null && !indexLimit.isEmpty()) {
+            ParamTree.setIndexLimit(Integer.parseInt(indexLimit.trim()));
+        }
+
+        // JSON indenté seulement si demandé (développement)
+        JsonConverter.setPrettyPrinting(Boolean.parseBoolean(config.getInitParameter("json-pretty-print")));
+
+        // "lazy" : contrôleurs créés (et init() appelé) au premier appel de leurs routes
+        boolean lazyControllers = "lazy".equalsIgnoreCase(config.getInitParameter("controller-init"));
+
+        // "true" : les racines du classpath qui ont un index de contrôleurs ne sont pas parcourues
+        boolean useIndex = "true".equalsIgnoreCase(config.getInitParameter("controller-index"));
+
+        List<URLRoute> routes = ControllerScanner.scanPackage(basePackage, invokerMode, lazyControllers, useIndex);
         routeRegistry.registerRoutes(routes);
 
-        System.out.println("=== Routes chargées (Sprint 10 - File Upload) ===");
+        for (URLRoute route : routes) {
+            if (route.getHandlerPlan().runsOnVirtualThread(virtualByDefault)) {
+                String maxConcurrency = config.getInitParameter("virtual-max-concurrency");
+                virtualPermits = new Semaphore((maxConcurrency == null || maxConcurrency.isEmpty())
+                        ? 10000 : Integer.parseInt(maxConcurrency));
+                virtualExecutor = Executors.newThreadPerTaskExecutor(
+                        Thread.ofVirtual().name("gigaspring-vt-", 0).factory());
+                break;
+            }
+        }
+
+        LOG.info("=== Routes chargées (Sprint 10 - File Upload) ===");
         for (URLRoute route : routeRegistry.getAllRoutes()) {
             Method method = route.getMethod();
             boolean hasJson = method.isAnnotationPresent(Json.class);
-            System.out.println(route.getUrlPattern() + " [" + route.getHttpMethod() + "] -> " + 
-                             route.getMethod().getName() + (hasJson ? " [JSON]" : ""));
+            boolean cached = route.getHandlerPlan().getResponseCache() != null;
+            LOG.info(route.getUrlPattern() + " [" + route.getHttpMethod() + "] -> " + 
+                             route.getMethod().getName() + (hasJson ? " [JSON]" : "") + (cached ? " [CACHED]" : ""));
         }
-        System.out.println("=================================================");
+        LOG.info("=================================================");
     }
 
     @Override
@@ -73,80 +187,349 @@ public class FrontServlet extends HttpServlet {
         String path = req.getRequestURI().substring(req.getContextPath().length());
         String httpMethod = req.getMethod();
 
-        System.out.println("Requête: " + httpMethod + " " + path + 
-                         (FileUploadUtils.isMultipartRequest(req) ? " [MULTIPART]" : ""));
+        // Trace des requêtes : supprimée par le JIT quand gigaspring.trace est faux
+        if (Logger.TRACE) {
+            LOG.trace("Requête: " + httpMethod + " " + path + 
+                     (FileUploadUtils.isMultipartRequest(req) ? " [MULTIPART]" : ""));
+        }
 
-        boolean resourceExists = getServletContext().getResource(path) != null;
-        if (resourceExists) {
-            defaultServe(req, res);
+        if (metricsPath != null && metricsPath.equals(path)) {
+            processJsonResult(MetricsReport.build(routeRegistry.getAllRoutes(), notFoundMetrics, startedAt),
+                    req, res, null);
             return;
         }
 
-        URLRoute route = routeRegistry.findRoute(path, httpMethod);
-        if (route != null) {
-            invokeController(route, path, req, res);
+        // Ressource connue au démarrage : servie directement, sans interroger le conteneur
+        if (staticResources.isIndexed(path)) {
+            defaultServe(req, res, path);
+            return;
+        }
+
+        long start = tick();
+        RouteMatch match = routeRegistry.match(path, httpMethod);
+        if (match != null) {
+            record(match.getRoute().getMetrics(), Phase.LOOKUP, start);
+            HandlerPlan plan = match.getRoute().getHandlerPlan();
+            if (virtualExecutor != null && plan.runsOnVirtualThread(virtualByDefault) && req.isAsyncSupported()) {
+                invokeOnVirtualThread(match, req, res, start);
+            } else {
+                invokeController(match, req, res, null, start);
+            }
+        } else if (staticResources.probe(path)) {
+            // Ressource ajoutée après le démarrage
+            defaultServe(req, res, path);
         } else {
+            record(notFoundMetrics, Phase.LOOKUP, start);
             handleNotFound(req, res);
         }
     }
 
-    private void invokeController(URLRoute route, String path, HttpServletRequest req, 
-                                 HttpServletResponse res) throws IOException {
+    @Override
+    public void destroy() {
+        if (virtualExecutor != null) {
+            virtualExecutor.shutdown();
+        }
+        Logger.shutdown();
+        super.destroy();
+    }
+
+    /**
+     * Instant de début d'une mesure, 0 si les métriques sont désactivées
+     */
+    private long tick() {
+        return metricsPath != null ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Enregistre la durée d'une phase et retourne l'instant de fin (début de la phase suivante)
+     */
+    private long record(RouteMetrics metrics, Phase phase, long since) {
+        if (metricsPath == null) {
+            return 0L;
+        }
+        long now = System.nanoTime();
+        metrics.record(phase, now - since);
+        return now;
+    }
+
+    /**
+     * Exécute le contrôleur sur un thread virtuel ; le thread du conteneur est rendu
+     * tout de suite. Au-delà de "virtual-max-concurrency" appels simultanés, la
+     * requête est refusée (503) plutôt que mise en file.
+     */
+    private void invokeOnVirtualThread(RouteMatch match, HttpServletRequest req,
+                                       HttpServletResponse res, long start) throws IOException {
+        if (!virtualPermits.tryAcquire()) {
+            res.setHeader("Retry-After", "1");
+            sendError(res, req, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server busy");
+            return;
+        }
+
+        AsyncContext async = req.startAsync(req, res);
+        async.setTimeout(0); // même comportement qu'un appel synchrone : pas de délai imposé
+        try {
+            virtualExecutor.execute(() -> {
+                try {
+                    invokeController(match, req, res, async, start);
+                } catch (IOException e) {
+                    // réponse impossible à écrire (client parti)
+                } finally {
+                    virtualPermits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            virtualPermits.release();
+            handleError(e, req, res);
+            async.complete();
+        }
+    }
+
+    /**
+     * Appelle le contrôleur. {@code async} est non null quand l'appel se fait sur un
+     * thread virtuel : la requête est alors terminée ici (complete ou dispatch).
+     * {@code start} est le début de la requête, pour les métriques.
+     */
+    private void invokeController(RouteMatch match, HttpServletRequest req, 
+                                 HttpServletResponse res, AsyncContext async, long start) throws IOException {
+        boolean dispatched = false;
+        boolean completedLater = false;
+        URLRoute route = match.getRoute();
+        RouteMetrics metrics = route.getMetrics();
+        ControllerProvider provider = route.getControllerProvider();
+        Object controller = null;
         try {
-            // Extraire les paramètres d'URL
-            Map<String, String> urlParams = route.extractParams(path);
-            urlParams.forEach(req::setAttribute);
+            // Paramètres d'URL déjà extraits par le RouteRegistry
+            String[] paramNames = route.getParamNames();
+            String[] paramValues = match.getParamValues();
+            for (int i = 0; i < paramNames.length; i++) {
+                req.setAttribute(paramNames[i], paramValues[i]);
+            }
 
-            Method method = route.getMethod();
-            Object controller = route.getController();
+            HandlerPlan plan = route.getHandlerPlan();
+            Method method = plan.getMethod();
             
             // Vérifier si c'est une méthode JSON
-            boolean isJsonMethod = method.isAnnotationPresent(Json.class);
+            boolean isJsonMethod = plan.isJson();
             
             // Vérifier l'annotation d'autorisation avant de préparer les arguments
-            if (!checkAuthorization(method, req, res)) {
+            if (!checkAuthorization(plan.getAuthorized(), req, res)) {
                 return; // réponse déjà écrite par checkAuthorization
             }
 
-            // Préparer les arguments (avec support upload de fichiers)
-            Object[] args = prepareMethodArguments(method, req, res, urlParams);
+            // @Cacheable : JSON servi depuis le cache, contrôleur appelé seulement en cas d'absence
+            ResponseCache cache = plan.getResponseCache();
+            if (cache != null && "GET".equals(req.getMethod())) {
+                CachedResponse cached = cache.get(cache.key(match.getParamValues(), req),
+                        () -> loadCachedResponse(match, provider, req, res));
+                long phaseStart = tick();
+                writeCachedJson(cached, req, res, plan.getJson());
+                record(metrics, Phase.RENDERING, phaseStart);
+                return;
+            }
+
+            // Préparer les arguments selon le plan précalculé (avec support upload de fichiers)
+            long phaseStart = tick();
+            Object[] args = plan.resolveArguments(req, res, match);
+            phaseStart = record(metrics, Phase.BINDING, phaseStart);
             
             // Appeler la méthode du contrôleur
-            System.out.println("Invoking " + method.getName() + 
-                             (isJsonMethod ? " [JSON]" : "") + 
-                             (FileUploadUtils.isMultipartRequest(req) ? " [WITH FILES]" : ""));
+            if (Logger.TRACE) {
+                LOG.trace("Invoking " + method.getName() + 
+                         (isJsonMethod ? " [JSON]" : "") + 
+                         (FileUploadUtils.isMultipartRequest(req) ? " [WITH FILES]" : ""));
+            }
             
-            Object result = method.invoke(controller, args);
+            // Contrôleur paresseux : créé ici au premier appel autorisé
+            controller = provider.acquire();
+            Object result = plan.invoke(controller, args);
+            phaseStart = record(metrics, Phase.INVOCATION, phaseStart);
+            
+            // Résultat asynchrone : le thread du conteneur est libéré
+            if (result instanceof CompletionStage) {
+                if (async == null) {
+                    // Durée totale mesurée une fois la réponse écrite ; l'instance n'est rendue
+                    // qu'à la fin réelle du CompletionStage, même après un timeout
+                    Object instance = controller;
+                    controller = null;
+                    completedLater = true;
+                    completeAsync((CompletionStage<?>) result, plan, req, res, failure -> {
+                        if (failure != null) metrics.recordError();
+                        record(metrics, Phase.TOTAL, start);
+                    }, () -> provider.release(instance)); // seul release de cette instance
+                    return;
+                }
+                // Déjà sur un thread virtuel : attendre ne coûte rien
+                result = await((CompletionStage<?>) result);
+            }
             
             // Traiter le résultat
-            if (isJsonMethod) {
-                processJsonResult(result, req, res, method.getAnnotation(Json.class));
+            if (async != null) {
+                dispatched = renderAsyncResult(result, plan, async, req, res);
             } else {
-                processRegularResult(result, req, res);
+                renderResult(result, plan, req, res);
             }
 
+            record(metrics, Phase.RENDERING, phaseStart);
+
         } catch (Exception e) {
+            metrics.recordError();
             handleError(e, req, res);
+        } finally {
+            provider.release(controller);
+            if (!completedLater) {
+                record(metrics, Phase.TOTAL, start);
+            }
+            if (async != null && !dispatched) {
+                async.complete();
+            }
+        }
+    }
+
+    /**
+     * Traite le résultat du contrôleur (JSON ou vue/texte)
+     */
+    private void renderResult(Object result, HandlerPlan plan, HttpServletRequest req,
+                              HttpServletResponse res) throws Exception {
+        if (plan.isJson()) {
+            processJsonResult(result, req, res, plan.getJson());
+        } else {
+            processRegularResult(result, req, res);
         }
     }
 
+    /**
+     * Termine la requête quand le CompletionStage retourné par le contrôleur est résolu.
+     * Le servlet doit être déclaré avec {@code <async-supported>true</async-supported>} ;
+     * sinon le résultat est attendu sur le thread du conteneur.
+     * {@code onDone} est appelé une fois la réponse écrite (résultat, erreur ou timeout) :
+     * il enregistre les métriques. {@code onSettled} n'est appelé qu'à la fin du
+     * CompletionStage : après un timeout le contrôleur travaille peut-être encore,
+     * son instance (scope POOLED) ne doit pas être rendue avant.
+     */
+    private void completeAsync(CompletionStage<?> stage, HandlerPlan plan, HttpServletRequest req,
+                               HttpServletResponse res, Consumer<Throwable> onDone,
+                               Runnable onSettled) throws Exception {
+        stage.whenComplete((value, error) -> onSettled.run());
+
+        if (!req.isAsyncSupported()) {
+            Throwable failure = null;
+            try {
+                renderResult(await(stage), plan, req, res);
+            } catch (Exception e) {
+                failure = e;
+                throw e;
+            } finally {
+                onDone.accept(failure);
+            }
+            return;
+        }
+
+        AsyncContext async = req.startAsync(req, res);
+        async.setTimeout(asyncTimeout);
+
+        // Le premier arrivé (résultat, timeout ou erreur) écrit la réponse et appelle onDone
+        AtomicBoolean done = new AtomicBoolean();
+        async.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) throws IOException {
+                if (done.compareAndSet(false, true)) {
+                    TimeoutException timeout = new TimeoutException("Async request timed out after " + asyncTimeout + " ms");
+                    try {
+                        handleError(timeout, req, res);
+                    } finally {
+                        onDone.accept(timeout);
+                        async.complete();
+                    }
+                }
+            }
+            @Override public void onComplete(AsyncEvent event) {}
+            @Override
+            public void onError(AsyncEvent event) {
+                if (done.compareAndSet(false, true)) {
+                    Throwable failure = event.getThrowable();
+                    onDone.accept(failure != null ? failure : new ServletException("Async request failed"));
+                    async.complete();
+                }
+            }
+            @Override public void onStartAsync(AsyncEvent event) {}
+        });
+
+        stage.whenComplete((value, error) -> {
+            if (!done.compareAndSet(false, true)) {
+                return; // délai dépassé ou erreur : réponse et onDone déjà traités
+            }
+            boolean dispatched = false;
+            Throwable failure = error;
+            try {
+                if (error != null) {
+                    handleError(asException(error), req, res);
+                } else {
+                    dispatched = renderAsyncResult(value, plan, async, req, res);
+                }
+            } catch (Exception e) {
+                failure = e;
+                try {
+                    handleError(e, req, res);
+                } catch (IOException ignored) {
+                    // la connexion est probablement fermée
+                }
+            } finally {
+                onDone.accept(failure);
+                if (!dispatched) {
+                    async.complete();
+                }
+            }
+        });
+    }
+
+    /**
+     * Rendu hors du thread du conteneur : une vue passe par AsyncContext.dispatch
+     * au lieu d'un forward. Retourne true si la requête a été dispatchée.
+     */
+    private boolean renderAsyncResult(Object value, HandlerPlan plan, AsyncContext async,
+                                      HttpServletRequest req, HttpServletResponse res) throws Exception {
+        if (!plan.isJson() && value instanceof ModelView) {
+            ModelView mv = (ModelView) value;
+            mv.getModel().forEach(req::setAttribute);
+            async.dispatch(mv.getView());
+            return true;
+        }
+        renderResult(value, plan, req, res);
+        return false;
+    }
+
+    private static Object await(CompletionStage<?> stage) throws Exception {
+        try {
+            return stage.toCompletableFuture().get();
+        } catch (ExecutionException e) {
+            throw asException(e.getCause());
+        }
+    }
+
+    private static Exception asException(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException)
+                && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error instanceof Exception ? (Exception) error : new ServletException(error);
+    }
+
     /**
      * Vérifie l'annotation @Authorized sur la méthode et valide la session/utilisateur.
      * Si l'accès est refusé, écrit la réponse (401/403) et retourne false.
      */
-    private boolean checkAuthorization(Method method, HttpServletRequest req, HttpServletResponse res) throws IOException {
-        Authorized auth = method.getAnnotation(Authorized.class);
+    private boolean checkAuthorization(Authorized auth, HttpServletRequest req, HttpServletResponse res) throws IOException {
         if (auth == null) return true; // pas de restriction
 
         // anonymous explicit allow
         if (auth.anonymous()) return true;
 
-        javax.servlet.http.HttpSession session = req.getSession(false);
+        jakarta.servlet.http.HttpSession session = req.getSession(false);
 
         // authenticated required
         if (auth.authenticated()) {
             if (session != null && session.getAttribute("currentUser") != null) return true;
-            sendAuthError(res, req, HttpServletResponse.SC_UNAUTHORIZED, "Authentication required");
+            sendError(res, req, HttpServletResponse.SC_UNAUTHORIZED, "Authentication required");
             return false;
         }
 
@@ -170,16 +553,19 @@ public class FrontServlet extends HttpServlet {
                 }
             }
 
-            sendAuthError(res, req, HttpServletResponse.SC_FORBIDDEN, "Insufficient role");
+            sendError(res, req, HttpServletResponse.SC_FORBIDDEN, "Insufficient role");
             return false;
         }
 
         // Default deny
-        sendAuthError(res, req, HttpServletResponse.SC_UNAUTHORIZED, "Access denied");
+        sendError(res, req, HttpServletResponse.SC_UNAUTHORIZED, "Access denied");
         return false;
     }
 
-    private void sendAuthError(HttpServletResponse res, HttpServletRequest req, int status, String message) throws IOException {
+    /**
+     * Réponse d'erreur courte (401, 403, 503...) : JSON pour une requête d'API, HTML sinon
+     */
+    private void sendError(HttpServletResponse res, HttpServletRequest req, int status, String message) throws IOException {
         boolean api = isLikelyApiRequest(req);
         res.setStatus(status);
         if (api) {
@@ -196,257 +582,174 @@ public class FrontServlet extends HttpServlet {
     }
 
     /**
-     * Prépare les arguments pour la méthode du contrôleur avec support upload
+     * Traite le résultat d'une méthode JSON : le JSON est écrit directement
+     * dans le flux de la réponse, sans String intermédiaire
      */
-    private Object[] prepareMethodArguments(Method method, HttpServletRequest req, 
-                                           HttpServletResponse res, Map<String, String> urlParams) 
-            throws Exception {
-        Parameter[] parameters = method.getParameters();
-        Object[] args = new Object[parameters.length];
-        
-        // Récupérer les paramètres normaux
-        Map<String, String[]> parameterMap = req.getParameterMap();
-        
-        // Récupérer les fichiers uploadés (si c'est une requête multipart)
-        Map<String, UploadedFile> uploadedFiles = null;
-        if (FileUploadUtils.isMultipartRequest(req)) {
-            uploadedFiles = FileUploadUtils.getUploadedFiles(req);
-            System.out.println("Found " + uploadedFiles.size() + " uploaded file(s)");
-        }
-        
-        for (int i = 0; i < parameters.length; i++) {
-            Parameter param = parameters[i];
-            Class<?> paramType = param.getType();
-            String paramName = param.getName();
-
-            // 1. Types spéciaux: HttpServletRequest, HttpServletResponse
-            if (HttpServletRequest.class.isAssignableFrom(paramType)) {
-                args[i] = req;
-                continue;
-            }
-            if (HttpServletResponse.class.isAssignableFrom(paramType)) {
-                args[i] = res;
-                continue;
-            }
-            
-            // 2. UploadedFile (Sprint 10)
-            if (UploadedFile.class.isAssignableFrom(paramType)) {
-                // Vérifier s'il y a un fichier avec ce nom
-                UploadedFile file = null;
-                if (uploadedFiles != null) {
-                    // Chercher par nom du paramètre
-                    file = uploadedFiles.get(paramName);
-                    
-                    // Sinon chercher par @RequestParam
-                    if (file == null) {
-                        RequestParam rp = param.getAnnotation(RequestParam.class);
-                        if (rp != null && !rp.value().isEmpty()) {
-                            file = uploadedFiles.get(rp.value());
-                        }
-                    }
+    private void processJsonResult(Object result, HttpServletRequest req, 
+                                  HttpServletResponse res, Json jsonAnnotation) throws IOException {
+        res.setContentType("application/json;charset=UTF-8");
+        boolean compress = jsonAnnotation == null || jsonAnnotation.compress();
+
+        ByteArrayOutputStream buffered = null;
+        if (jsonAnnotation != null && jsonAnnotation.etag()) {
+            // no-cache : le client garde la réponse mais la revalide (If-None-Match) à chaque appel
+            res.setHeader("Cache-Control", "no-cache");
+            String etag;
+            if (result instanceof Versioned) {
+                // Version fournie par le contrôleur : 304 possible sans sérialiser
+                etag = JsonEtag.ofVersion(((Versioned) result).getVersion());
+            } else {
+                // Le hash doit précéder les en-têtes : JSON sérialisé d'abord en mémoire
+                buffered = new ByteArrayOutputStream(8192);
+                MessageDigest digest = JsonEtag.newDigest();
+                try (Writer out = new OutputStreamWriter(new DigestOutputStream(buffered, digest), StandardCharsets.UTF_8)) {
+                    writeJsonBody(result, out);
+                } catch (Exception e) {
+                    writeJsonError(e, res);
+                    return;
                 }
-                args[i] = file;
-                continue;
+                etag = JsonEtag.of(digest);
             }
-            
-            // 3. Map<String, UploadedFile> pour tous les fichiers
-            if (Map.class.isAssignableFrom(paramType)) {
-                Type genericType = param.getParameterizedType();
-                if (isUploadedFileMap(genericType)) {
-                    args[i] = uploadedFiles != null ? 
-                             new HashMap<>(uploadedFiles) : 
-                             new HashMap<String, UploadedFile>();
-                    continue;
-                }
+            if (notModified(etag, req, res)) {
+                return;
             }
-            
-            // 4. List<UploadedFile> pour plusieurs fichiers
-            if (List.class.isAssignableFrom(paramType) && 
-                isUploadedFileList(param.getParameterizedType())) {
-                if (uploadedFiles != null) {
-                    args[i] = new ArrayList<>(uploadedFiles.values());
-                } else {
-                    args[i] = new ArrayList<UploadedFile>();
-                }
-                continue;
+        } else {
+            res.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
+        }
+
+        OutputStream body = openBody(req, res, compress);
+        if (buffered != null) {
+            try (body) {
+                buffered.writeTo(body);
             }
-            
-            // 5. UploadedFile[] pour tableau de fichiers
-            if (paramType.isArray() && paramType.getComponentType() == UploadedFile.class) {
-                if (uploadedFiles != null) {
-                    args[i] = uploadedFiles.values().toArray(new UploadedFile[0]);
-                } else {
-                    args[i] = new UploadedFile[0];
-                }
-                continue;
+            return;
+        }
+
+        Writer out = new OutputStreamWriter(body, StandardCharsets.UTF_8);
+        try {
+            writeJsonBody(result, out);
+        } catch (Exception e) {
+            // Deflater rendu au pool dans tous les cas, même si le client est parti
+            if (body instanceof CompressingOutputStream) {
+                ((CompressingOutputStream) body).abort();
             }
-            
-            // 6. Binding d'objets réguliers (Sprint 8-bis)
-            if (shouldBindObject(paramType)) {
-                String prefix = paramName;
-                RequestParam rp = param.getAnnotation(RequestParam.class);
-                if (rp != null && !rp.value().isEmpty()) {
-                    prefix = rp.value();
-                }
-                args[i] = ObjectBinder.bindObject(paramType, parameterMap, prefix);
-                continue;
-            }
-            
-            // 7. Paramètres simples
-            RequestParam rp = param.getAnnotation(RequestParam.class);
-            String requestParamName = (rp != null && !rp.value().isEmpty()) ? rp.value() : paramName;
-            
-            String[] values = urlParams.containsKey(requestParamName) ? 
-                new String[]{urlParams.get(requestParamName)} : 
-                parameterMap.get(requestParamName);
-            
-            if (values != null && values.length > 0) {
-                args[i] = ObjectBinder.convertToType(values[0], paramType);
-            } else {
-                args[i] = getDefaultValue(paramType);
+            if (res.isCommitted()) {
+                throw new IOException("Erreur d'écriture JSON après envoi de la réponse", e);
             }
+            writeJsonError(e, res);
+            return;
         }
-        
-        return args;
+        out.close();
     }
 
     /**
-     * Vérifie si le type est Map<String, UploadedFile>
+     * Pose l'ETag (faible : identique que la réponse soit compressée ou non) et répond 304
+     * si If-None-Match correspond
      */
-    private boolean isUploadedFileMap(Type genericType) {
-        if (!(genericType instanceof ParameterizedType)) {
-            return false;
+    private boolean notModified(String etag, HttpServletRequest req, HttpServletResponse res) {
+        res.setHeader("ETag", "W/" + etag);
+        String ifNoneMatch = req.getHeader("If-None-Match");
+        if (ifNoneMatch != null && StaticFileHandler.matchesEtag(ifNoneMatch, etag)
+                && ("GET".equals(req.getMethod()) || "HEAD".equals(req.getMethod()))) {
+            res.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return true;
         }
-        
-        ParameterizedType pType = (ParameterizedType) genericType;
-        Type[] typeArgs = pType.getActualTypeArguments();
-        
-        if (typeArgs.length != 2) {
-            return false;
-        }
-        
-        // Vérifier Map<String, UploadedFile>
-        if (typeArgs[0] == String.class || 
-            (typeArgs[0] instanceof Class && String.class.isAssignableFrom((Class<?>) typeArgs[0]))) {
-            
-            if (typeArgs[1] == UploadedFile.class ||
-                (typeArgs[1] instanceof Class && UploadedFile.class.isAssignableFrom((Class<?>) typeArgs[1]))) {
-                return true;
-            }
-        }
-        
         return false;
     }
 
     /**
-     * Vérifie si le type est List<UploadedFile>
+     * Absence dans le cache : invoque le contrôleur et sérialise son résultat (avec l'ETag si demandé)
      */
-    private boolean isUploadedFileList(Type genericType) {
-        if (!(genericType instanceof ParameterizedType)) {
-            return false;
+    private CachedResponse loadCachedResponse(RouteMatch match, ControllerProvider provider,
+                                              HttpServletRequest req, HttpServletResponse res) throws Exception {
+        URLRoute route = match.getRoute();
+        RouteMetrics metrics = route.getMetrics();
+        HandlerPlan plan = route.getHandlerPlan();
+
+        long phaseStart = tick();
+        Object[] args = plan.resolveArguments(req, res, match);
+        phaseStart = record(metrics, Phase.BINDING, phaseStart);
+
+        Object controller = provider.acquire();
+        Object result;
+        try {
+            result = plan.invoke(controller, args);
+        } finally {
+            provider.release(controller);
         }
-        
-        ParameterizedType pType = (ParameterizedType) genericType;
-        Type[] typeArgs = pType.getActualTypeArguments();
-        
-        if (typeArgs.length != 1) {
-            return false;
+        if (result instanceof CompletionStage) {
+            result = await((CompletionStage<?>) result);
         }
-        
-        return typeArgs[0] == UploadedFile.class ||
-               (typeArgs[0] instanceof Class && UploadedFile.class.isAssignableFrom((Class<?>) typeArgs[0]));
-    }
+        record(metrics, Phase.INVOCATION, phaseStart);
 
-    /**
-     * Vérifie si un type nécessite du binding d'objet
-     */
-    private boolean shouldBindObject(Class<?> type) {
-        if (type.isPrimitive() ||
-            type == String.class ||
-            type == Integer.class ||
-            type == Long.class ||
-            type == Double.class ||
-            type == Float.class ||
-            type == Boolean.class ||
-            type == Short.class ||
-            type == Byte.class ||
-            type == Character.class ||
-            type == Date.class ||
-            type.isEnum() ||
-            UploadedFile.class.isAssignableFrom(type)) {
-            return false;
-        }
-        
-        if (type.isArray()) {
-            Class<?> componentType = type.getComponentType();
-            return !isSimpleComponentType(componentType) && componentType != UploadedFile.class;
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+        MessageDigest digest = plan.getJson().etag() ? JsonEtag.newDigest() : null;
+        try (Writer out = new OutputStreamWriter(
+                digest != null ? new DigestOutputStream(buffer, digest) : buffer, StandardCharsets.UTF_8)) {
+            writeJsonBody(result, out);
         }
-        
-        if (Map.class.isAssignableFrom(type) || List.class.isAssignableFrom(type)) {
-            return false; // Traités séparément
+        String etag = null;
+        if (digest != null) {
+            etag = result instanceof Versioned
+                    ? JsonEtag.ofVersion(((Versioned) result).getVersion())
+                    : JsonEtag.of(digest);
         }
-        
-        return true;
+        return new CachedResponse(buffer.toByteArray(), etag);
     }
 
-    private boolean isSimpleComponentType(Class<?> componentType) {
-        return componentType.isPrimitive() ||
-               componentType == String.class ||
-               componentType == Integer.class ||
-               componentType == Long.class ||
-               componentType == Double.class ||
-               componentType == Float.class ||
-               componentType == Boolean.class ||
-               componentType == Short.class ||
-               componentType == Byte.class ||
-               componentType == Character.class;
+    private void writeCachedJson(CachedResponse cached, HttpServletRequest req, HttpServletResponse res,
+                                 Json jsonAnnotation) throws IOException {
+        res.setContentType("application/json;charset=UTF-8");
+        if (cached.getEtag() != null) {
+            res.setHeader("Cache-Control", "no-cache");
+            if (notModified(cached.getEtag(), req, res)) {
+                return;
+            }
+        } else {
+            res.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
+        }
+        try (OutputStream body = openBody(req, res, jsonAnnotation.compress())) {
+            body.write(cached.getBody());
+        }
     }
 
-    /**
-     * Retourne la valeur par défaut pour un type
-     */
-    private Object getDefaultValue(Class<?> type) {
-        if (type == boolean.class) return false;
-        if (type == char.class) return '\0';
-        if (type == byte.class) return (byte) 0;
-        if (type == short.class) return (short) 0;
-        if (type == int.class) return 0;
-        if (type == long.class) return 0L;
-        if (type == float.class) return 0f;
-        if (type == double.class) return 0d;
-        return null;
+    private void writeJsonBody(Object result, Writer out) throws IOException {
+        if (JsonConverter.isStreamable(result)) {
+            // Sans Content-Length : le conteneur envoie la réponse en chunks
+            // au fur et à mesure que son tampon se remplit
+            JsonConverter.writeStreamingJson(result, out);
+        } else if (result instanceof JsonResponse) {
+            JsonConverter.writeJson(result, out);
+        } else {
+            JsonConverter.writeStandardJson(result, out);
+        }
     }
 
     /**
-     * Traite le résultat d'une méthode JSON
+     * Erreur de sérialisation avant l'envoi : la réponse est remplacée par une erreur 500 JSON
      */
-    private void processJsonResult(Object result, HttpServletRequest req, 
-                                  HttpServletResponse res, Json jsonAnnotation) throws IOException {
+    private void writeJsonError(Exception e, HttpServletResponse res) throws IOException {
+        // Seul le corps est effacé : en-têtes et cookies du contrôleur (CORS, Set-Cookie...) restent.
+        // Content-Encoding et ETag décrivaient le corps abandonné (null : en-tête retiré)
+        res.resetBuffer();
+        res.setHeader("Content-Encoding", null);
+        res.setHeader("ETag", null);
+        res.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
         res.setContentType("application/json;charset=UTF-8");
         res.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
-        
-        String jsonResponse;
-        
-        try {
-            if (result instanceof com.giga.spring.json.JsonResponse) {
-                jsonResponse = JsonConverter.toJson(result);
-            } else {
-                jsonResponse = JsonConverter.toStandardJson(result);
-            }
-            
-            try (PrintWriter out = res.getWriter()) {
-                out.write(jsonResponse);
-            }
-            
-        } catch (Exception e) {
-            res.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-            jsonResponse = JsonConverter.errorToJson(e, HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-            try (PrintWriter out = res.getWriter()) {
-                out.write(jsonResponse);
-            }
+        try (Writer out = new OutputStreamWriter(res.getOutputStream(), StandardCharsets.UTF_8)) {
+            out.write(JsonConverter.errorToJson(e, HttpServletResponse.SC_INTERNAL_SERVER_ERROR));
         }
     }
 
+    /**
+     * Flux du corps : compressé selon Accept-Encoding si la compression est active
+     */
+    private OutputStream openBody(HttpServletRequest req, HttpServletResponse res, boolean compress)
+            throws IOException {
+        return (compression != null && compress) ? compression.open(req, res) : res.getOutputStream();
+    }
+
     /**
      * Traite le résultat d'une méthode régulière
      */
@@ -461,22 +764,33 @@ public class FrontServlet extends HttpServlet {
             return;
         }
         
-        if (result instanceof String) {
-            res.setContentType("text/html;charset=UTF-8");
-            try (PrintWriter out = res.getWriter()) {
-                out.write((String) result);
-            }
-            return;
-        }
-        
         if (result != null) {
             res.setContentType("text/html;charset=UTF-8");
-            try (PrintWriter out = res.getWriter()) {
+            if (compression == null || !outputStreamAvailable(res)) {
+                // Sans compression, ou le contrôleur a déjà pris getWriter() : on reste sur le writer
+                try (PrintWriter out = res.getWriter()) {
+                    out.write(result.toString());
+                }
+                return;
+            }
+            try (Writer out = new OutputStreamWriter(openBody(req, res, true), StandardCharsets.UTF_8)) {
                 out.write(result.toString());
             }
         }
     }
 
+    /**
+     * Faux si getWriter() a déjà été appelé sur la réponse (getOutputStream() est alors refusé)
+     */
+    private static boolean outputStreamAvailable(HttpServletResponse res) throws IOException {
+        try {
+            res.getOutputStream();
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
     /**
      * Vérifie si la requête semble être une API
      */
@@ -493,7 +807,12 @@ public class FrontServlet extends HttpServlet {
      * Gère les erreurs
      */
     private void handleError(Exception e, HttpServletRequest req, HttpServletResponse res) throws IOException {
-        e.printStackTrace();
+        LOG.error("Erreur " + req.getMethod() + " " + req.getRequestURI(), e);
+
+        // Réponse déjà (en partie) envoyée, souvent via getOutputStream() : plus rien à écrire
+        if (res.isCommitted()) {
+            return;
+        }
         
         if (isLikelyApiRequest(req)) {
             res.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
@@ -577,8 +896,16 @@ public class FrontServlet extends HttpServlet {
         }
     }
 
-    private void defaultServe(HttpServletRequest req, HttpServletResponse res) 
+    private void defaultServe(HttpServletRequest req, HttpServletResponse res, String path)
             throws ServletException, IOException {
+        // WEB-INF et META-INF ne sont jamais exposés, quel que soit le chemin d'arrivée
+        if (StaticFileHandler.isProtectedPath(path)) {
+            res.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (staticFiles != null && staticFiles.serve(req, res, path)) {
+            return;
+        }
         defaultDispatcher.forward(req, res);
     }
 }
\ No newline at end of file
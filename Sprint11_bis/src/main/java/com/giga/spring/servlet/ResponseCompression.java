@@ -0,0 +1,74 @@
+package com.giga.spring.servlet;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Compression gzip/deflate des réponses écrites par le framework (JSON, String).
+ * Négociée avec Accept-Encoding ; les réponses de moins de minSize octets partent
+ * telles quelles. Les Deflater (mémoire native) sont réutilisés via un pool borné.
+ */
+public class ResponseCompression {
+
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+
+    private final int minSize;
+    private final int level;
+    private final BlockingQueue<Deflater> gzipPool;
+    private final BlockingQueue<Deflater> deflatePool;
+
+    public ResponseCompression(int minSize, int level, int poolSize) {
+        this.minSize = minSize;
+        this.level = level;
+        this.gzipPool = new ArrayBlockingQueue<>(poolSize);
+        this.deflatePool = new ArrayBlockingQueue<>(poolSize);
+    }
+
+    public int getMinSize() { return minSize; }
+
+    /**
+     * Codage accepté par le client (gzip de préférence), null sinon
+     */
+    public static String negotiate(String acceptEncoding) {
+        if (StaticFileHandler.accepts(acceptEncoding, GZIP)) return GZIP;
+        if (StaticFileHandler.accepts(acceptEncoding, DEFLATE)) return DEFLATE;
+        return null;
+    }
+
+    /**
+     * Flux du corps de la réponse : compressé si le client l'accepte et que la
+     * réponse dépasse minSize, sinon le flux du conteneur avec Content-Length
+     */
+    public CompressingOutputStream open(HttpServletRequest req, HttpServletResponse res) {
+        String encoding = negotiate(req.getHeader("Accept-Encoding"));
+        res.addHeader("Vary", "Accept-Encoding");
+        return new CompressingOutputStream(this, res, encoding, minSize);
+    }
+
+    Deflater acquire(String encoding) {
+        Deflater deflater = pool(encoding).poll();
+        // gzip : flux deflate brut (en-tête et CRC écrits à part) ; deflate : format zlib
+        return deflater != null ? deflater : new Deflater(level, GZIP.equals(encoding));
+    }
+
+    void release(String encoding, Deflater deflater) {
+        deflater.reset();
+        if (!pool(encoding).offer(deflater)) {
+            deflater.end(); // pool plein : libère la mémoire native tout de suite
+        }
+    }
+
+    /** Nombre de Deflater libres dans le pool du codage */
+    int pooled(String encoding) {
+        return pool(encoding).size();
+    }
+
+    private BlockingQueue<Deflater> pool(String encoding) {
+        return GZIP.equals(encoding) ? gzipPool : deflatePool;
+    }
+}
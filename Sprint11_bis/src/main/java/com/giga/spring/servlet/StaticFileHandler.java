@@ -0,0 +1,295 @@
+package com.giga.spring.servlet;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Sert les fichiers statiques avant le servlet "default" du conteneur (jamais ce qui est
+ * sous WEB-INF ou META-INF) :
+ * ETag fort et Last-Modified, 304 (If-None-Match / If-Modified-Since), requêtes
+ * Range (un seul intervalle), variantes précompressées .br/.gz si le client les accepte.
+ * Le corps est envoyé par sendfile quand le conteneur le propose (Tomcat), sans passer
+ * par la JVM ; sinon il est lu par blocs de 64 Ko dans un tampon du heap et écrit sur le
+ * flux de la réponse (l'API Servlet n'accepte que des byte[], la copie est inévitable).
+ * Les JSP, les répertoires et les WAR non décompressés restent servis par le conteneur.
+ */
+public class StaticFileHandler {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final ServletContext context;
+    private final Path root;
+    private final String cacheControl;
+
+    public StaticFileHandler(ServletContext context, String cacheControl) {
+        this.context = context;
+        String realRoot = context.getRealPath("/");
+        this.root = realRoot != null ? Paths.get(realRoot).toAbsolutePath().normalize() : null;
+        this.cacheControl = cacheControl;
+    }
+
+    /**
+     * Retourne false si la requête doit être laissée au conteneur
+     */
+    public boolean serve(HttpServletRequest req, HttpServletResponse res, String path) throws IOException {
+        String method = req.getMethod();
+        boolean head = "HEAD".equals(method);
+        if (root == null || !(head || "GET".equals(method))) return false;
+        if (path.endsWith(".jsp") || path.endsWith(".jspx") || path.endsWith("/")) return false;
+        if (isProtectedPath(path)) return false;
+
+        Path file = resolve(path);
+        if (file == null) return false;
+        BasicFileAttributes attrs = readAttributes(file);
+        if (attrs == null || !attrs.isRegularFile()) return false;
+
+        long lastModified = attrs.lastModifiedTime().toMillis();
+        String contentType = context.getMimeType(path);
+
+        // Variante précompressée (plus petite, même contenu décodé)
+        String encoding = null;
+        Path body = file;
+        BasicFileAttributes bodyAttrs = attrs;
+        boolean hasVariants = false;
+        for (String[] variant : new String[][] { { "br", ".br" }, { "gzip", ".gz" } }) {
+            Path candidate = file.resolveSibling(file.getFileName() + variant[1]);
+            BasicFileAttributes candidateAttrs = readAttributes(candidate);
+            if (candidateAttrs == null || !candidateAttrs.isRegularFile()) continue;
+            hasVariants = true;
+            if (encoding == null && accepts(req.getHeader("Accept-Encoding"), variant[0])) {
+                encoding = variant[0];
+                body = candidate;
+                bodyAttrs = candidateAttrs;
+            }
+        }
+
+        long length = bodyAttrs.size();
+        String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(bodyAttrs.lastModifiedTime().toMillis())
+                + (encoding != null ? "-" + encoding : "") + "\"";
+
+        res.setHeader("ETag", etag);
+        res.setDateHeader("Last-Modified", lastModified);
+        if (hasVariants) res.setHeader("Vary", "Accept-Encoding");
+        if (cacheControl != null) res.setHeader("Cache-Control", cacheControl);
+
+        if (notModified(req, etag, lastModified)) {
+            res.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return true;
+        }
+
+        res.setContentType(contentType != null ? contentType : "application/octet-stream");
+        if (encoding != null) res.setHeader("Content-Encoding", encoding);
+
+        // Range : seulement sur le contenu non compressé
+        long start = 0;
+        long end = length - 1;
+        if (encoding == null) {
+            res.setHeader("Accept-Ranges", "bytes");
+            String range = req.getHeader("Range");
+            if (range != null && ifRangeMatches(req, etag, lastModified)) {
+                long[] bounds = parseRange(range, length);
+                if (bounds == null) {
+                    res.setHeader("Content-Range", "bytes */" + length);
+                    res.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return true;
+                }
+                if (bounds.length == 2) {
+                    start = bounds[0];
+                    end = bounds[1];
+                    res.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    res.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + length);
+                }
+            }
+        }
+
+        long count = end - start + 1;
+        res.setContentLengthLong(count);
+        if (head || count == 0) return true;
+
+        if (count >= SENDFILE_MIN_SIZE && Boolean.TRUE.equals(req.getAttribute(SENDFILE_SUPPORT))) {
+            // Le conteneur envoie le fichier lui-même (sendfile), sans passer par la JVM
+            req.setAttribute("org.apache.tomcat.sendfile.filename", body.toString());
+            req.setAttribute("org.apache.tomcat.sendfile.start", start);
+            req.setAttribute("org.apache.tomcat.sendfile.end", end + 1);
+            return true;
+        }
+
+        try (FileChannel channel = FileChannel.open(body, StandardOpenOption.READ)) {
+            OutputStream out = res.getOutputStream();
+            byte[] buffer = new byte[(int) Math.min(COPY_BUFFER_SIZE, count)];
+            ByteBuffer chunk = ByteBuffer.wrap(buffer);
+            long position = start;
+            while (count > 0) {
+                chunk.clear().limit((int) Math.min(buffer.length, count));
+                int read = channel.read(chunk, position);
+                if (read <= 0) break; // fichier raccourci pendant l'envoi
+                out.write(buffer, 0, read);
+                position += read;
+                count -= read;
+            }
+            out.flush();
+        }
+        return true;
+    }
+
+    /**
+     * Fichier réel sous la racine de l'application, null si le chemin en sort
+     * ou s'il désigne WEB-INF / META-INF
+     */
+    private Path resolve(String path) {
+        if (path.indexOf('\\') >= 0 || path.indexOf('\0') >= 0) return null;
+        Path file = root.resolve(path.substring(1)).normalize();
+        if (!file.startsWith(root) || file.equals(root)) return null;
+        String first = root.relativize(file).getName(0).toString();
+        return isProtectedName(first) ? null : file;
+    }
+
+    /**
+     * Vrai si le chemin, une fois normalisé ("//", "." , "..", ";param"), désigne
+     * WEB-INF ou META-INF (sans tenir compte de la casse) : jamais servi en statique
+     */
+    public static boolean isProtectedPath(String path) {
+        Deque<String> segments = new ArrayDeque<>();
+        for (String segment : path.split("/")) {
+            int semicolon = segment.indexOf(';');
+            if (semicolon >= 0) segment = segment.substring(0, semicolon);
+            if (segment.isEmpty() || segment.equals(".")) continue;
+            if (segment.equals("..")) {
+                segments.pollLast();
+            } else {
+                segments.addLast(segment);
+            }
+        }
+        return !segments.isEmpty() && isProtectedName(segments.peekFirst());
+    }
+
+    private static boolean isProtectedName(String segment) {
+        return segment.equalsIgnoreCase("WEB-INF") || segment.equalsIgnoreCase("META-INF");
+    }
+
+    private static BasicFileAttributes readAttributes(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static boolean notModified(HttpServletRequest req, String etag, long lastModified) {
+        String ifNoneMatch = req.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            return matchesEtag(ifNoneMatch, etag);
+        }
+        long ifModifiedSince = dateHeader(req, "If-Modified-Since");
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    private static boolean ifRangeMatches(HttpServletRequest req, String etag, long lastModified) {
+        String ifRange = req.getHeader("If-Range");
+        if (ifRange == null) return true;
+        if (ifRange.startsWith("\"")) return ifRange.equals(etag);
+        long date = dateHeader(req, "If-Range");
+        return date >= 0 && lastModified / 1000 == date / 1000;
+    }
+
+    private static long dateHeader(HttpServletRequest req, String name) {
+        try {
+            return req.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    static boolean matchesEtag(String header, String etag) {
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) value = value.substring(2);
+            if (value.equals("*") || value.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Vrai si Accept-Encoding accepte le codage (q > 0). Une entrée explicite pour le
+     * codage l'emporte ; sinon "*" s'applique, avec sa propre valeur de q.
+     */
+    static boolean accepts(String acceptEncoding, String encoding) {
+        if (acceptEncoding == null) return false;
+        Boolean wildcard = null;
+        for (String item : acceptEncoding.split(",")) {
+            String[] parts = item.trim().split(";");
+            String coding = parts[0].trim();
+            if (coding.equalsIgnoreCase(encoding)) {
+                return quality(parts) > 0;
+            }
+            if (coding.equals("*")) {
+                wildcard = quality(parts) > 0;
+            }
+        }
+        return wildcard != null && wildcard;
+    }
+
+    /**
+     * Valeur de q d'une entrée Accept-Encoding (1 si absente, 0 si illisible)
+     */
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * "bytes=a-b", "bytes=a-" ou "bytes=-n" : {début, fin} ; tableau vide si l'en-tête est
+     * ignoré (plusieurs intervalles, syntaxe inconnue) ; null si l'intervalle est hors du fichier
+     */
+    static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) return new long[0];
+        String spec = header.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) return new long[0];
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) return null;
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+                if (end < start) return last.isEmpty() || Long.parseLong(last) >= start ? null : new long[0];
+            }
+            if (start >= length) return null;
+            return new long[] { start, end };
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
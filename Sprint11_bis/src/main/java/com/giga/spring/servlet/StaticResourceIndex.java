@@ -0,0 +1,101 @@
+package com.giga.spring.servlet;
+
+import java.net.MalformedURLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.servlet.ServletContext;
+
+/**
+ * Ressources statiques de l'application (fichiers et répertoires hors WEB-INF/META-INF),
+ * listées une fois au démarrage : la plupart des requêtes n'interrogent plus le
+ * ServletContext. Pour une ressource ajoutée après le démarrage, probe() interroge
+ * getResource et garde les absences en cache (taille bornée, durée limitée).
+ */
+public class StaticResourceIndex {
+
+    private static final int MAX_INDEXED = 50_000;
+
+    private final ServletContext context;
+    private final Set<String> paths;
+    private final long negativeTtlMillis;
+    private final int maxNegative;
+    private final Map<String, Long> missing = new ConcurrentHashMap<>();
+
+    public StaticResourceIndex(ServletContext context, long negativeTtlMillis, int maxNegative) {
+        this.context = context;
+        this.negativeTtlMillis = negativeTtlMillis;
+        this.maxNegative = maxNegative;
+        this.paths = scan(context);
+    }
+
+    private static Set<String> scan(ServletContext context) {
+        Set<String> paths = new HashSet<>();
+        paths.add("/");
+        Deque<String> directories = new ArrayDeque<>();
+        directories.push("/");
+        while (!directories.isEmpty() && paths.size() < MAX_INDEXED) {
+            Set<String> children = context.getResourcePaths(directories.pop());
+            if (children == null) continue;
+            for (String child : children) {
+                if (child.startsWith("/WEB-INF/") || child.startsWith("/META-INF/")) continue;
+                if (child.endsWith("/")) {
+                    // Répertoire : accessible avec ou sans "/" final
+                    paths.add(child);
+                    paths.add(child.substring(0, child.length() - 1));
+                    directories.push(child);
+                } else {
+                    paths.add(child);
+                }
+            }
+        }
+        return paths;
+    }
+
+    public int size() { return paths.size(); }
+
+    /**
+     * Ressource présente au démarrage
+     */
+    public boolean isIndexed(String path) {
+        return paths.contains(path);
+    }
+
+    /**
+     * Ressource absente de l'index mais présente maintenant (ex: fichier ajouté dans
+     * un WAR déployé en répertoire). Une absence est mémorisée negativeTtlMillis ms.
+     * Toujours faux sous WEB-INF et META-INF.
+     */
+    public boolean probe(String path) {
+        // getResource répond aussi pour WEB-INF/META-INF : exclus comme dans scan()
+        if (StaticFileHandler.isProtectedPath(path)) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        Long expiresAt = missing.get(path);
+        if (expiresAt != null && expiresAt > now) {
+            return false;
+        }
+
+        boolean exists;
+        try {
+            exists = context.getResource(path) != null;
+        } catch (MalformedURLException e) {
+            exists = false;
+        }
+
+        if (exists) {
+            missing.remove(path);
+        } else if (negativeTtlMillis > 0) {
+            if (missing.size() >= maxNegative) {
+                missing.clear(); // borne simple : on repart de zéro plutôt que de grossir
+            }
+            missing.put(path, now + negativeTtlMillis);
+        }
+        return exists;
+    }
+}
@@ -3,14 +3,16 @@ package com.giga.spring.upload;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.Part;
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.*;
+import com.giga.spring.log.Logger;
 
 /**
  * Utilitaires pour gérer l'upload de fichiers
  * Sprint 10 - Gestion des uploads
  */
 public class FileUploadUtils {
+
+    private static final Logger LOG = Logger.get(FileUploadUtils.class);
     
     /**
      * Vérifie si la requête contient des fichiers uploadés
@@ -22,41 +24,25 @@ public class FileUploadUtils {
     
     /**
      * Récupère tous les fichiers uploadés dans une requête
+     * (lus une seule fois par requête, voir MultipartContext)
      */
     public static Map<String, UploadedFile> getUploadedFiles(HttpServletRequest request) throws Exception {
-        Map<String, UploadedFile> files = new HashMap<>();
-        
         if (!isMultipartRequest(request)) {
-            return files;
+            return new HashMap<>();
         }
         
         try {
-            Collection<Part> parts = request.getParts();
-            
-            for (Part part : parts) {
-                if (part.getSize() > 0 && part.getSubmittedFileName() != null) {
-                    // C'est un fichier
-                    String fieldName = part.getName();
-                    String fileName = part.getSubmittedFileName();
-                    String contentType = part.getContentType();
-                    long size = part.getSize();
-                    
-                    // Lire le contenu
-                    byte[] content = readPartContent(part);
-                    
-                    // Créer l'objet UploadedFile
-                    UploadedFile uploadedFile = new UploadedFile(fieldName, fileName, contentType, size, content);
-                    files.put(fieldName, uploadedFile);
-                    
-                    System.out.println("File uploaded: " + fileName + " (" + size + " bytes)");
+            Map<String, UploadedFile> files = MultipartContext.of(request).getFilesByName();
+            if (LOG.isDebugEnabled()) {
+                for (UploadedFile file : files.values()) {
+                    LOG.debug("File uploaded: " + file.getFileName() + " (" + file.getSize() + " bytes)");
                 }
             }
+            return new HashMap<>(files);
         } catch (Exception e) {
-            System.err.println("Error reading uploaded files: " + e.getMessage());
+            LOG.error("Error reading uploaded files: " + e.getMessage());
             throw e;
         }
-        
-        return files;
     }
     
     /**
@@ -68,17 +54,9 @@ public class FileUploadUtils {
         }
         
         try {
-            Part part = request.getPart(fieldName);
-            if (part != null && part.getSize() > 0 && part.getSubmittedFileName() != null) {
-                String fileName = part.getSubmittedFileName();
-                String contentType = part.getContentType();
-                long size = part.getSize();
-                
-                byte[] content = readPartContent(part);
-                return new UploadedFile(fieldName, fileName, contentType, size, content);
-            }
+            return MultipartContext.of(request).getFile(fieldName);
         } catch (Exception e) {
-            System.err.println("Error reading uploaded file '" + fieldName + "': " + e.getMessage());
+            LOG.warn("Error reading uploaded file '" + fieldName + "': " + e.getMessage());
         }
         
         return null;
@@ -102,46 +80,17 @@ public class FileUploadUtils {
         }
         
         try {
-            Collection<Part> parts = request.getParts();
-            
-            for (Part part : parts) {
-                if (part.getSize() > 0 && part.getSubmittedFileName() != null) {
-                    String fieldName = part.getName();
-                    String fileName = part.getSubmittedFileName();
-                    String contentType = part.getContentType();
-                    long size = part.getSize();
-                    
-                    byte[] content = readPartContent(part);
-                    UploadedFile uploadedFile = new UploadedFile(fieldName, fileName, contentType, size, content);
-                    
-                    filesByField.computeIfAbsent(fieldName, k -> new ArrayList<>()).add(uploadedFile);
-                }
+            for (Map.Entry<String, List<UploadedFile>> entry : MultipartContext.of(request).getFilesByField().entrySet()) {
+                filesByField.put(entry.getKey(), new ArrayList<>(entry.getValue()));
             }
         } catch (Exception e) {
-            System.err.println("Error reading uploaded files: " + e.getMessage());
+            LOG.error("Error reading uploaded files: " + e.getMessage());
             throw e;
         }
         
         return filesByField;
     }
     
-    /**
-     * Lit le contenu d'une Part en bytes
-     */
-    private static byte[] readPartContent(Part part) throws IOException {
-        try (InputStream inputStream = part.getInputStream()) {
-            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-            
-            byte[] data = new byte[4096];
-            int bytesRead;
-            while ((bytesRead = inputStream.read(data, 0, data.length)) != -1) {
-                buffer.write(data, 0, bytesRead);
-            }
-            
-            return buffer.toByteArray();
-        }
-    }
-    
     /**
      * Sauvegarde tous les fichiers uploadés dans un répertoire
      */
@@ -153,9 +102,9 @@ public class FileUploadUtils {
             try {
                 String savedPath = entry.getValue().saveTo(saveDirectory);
                 savedPaths.put(entry.getKey(), savedPath);
-                System.out.println("File saved to: " + savedPath);
+                if (LOG.isDebugEnabled()) LOG.debug("File saved to: " + savedPath);
             } catch (IOException e) {
-                System.err.println("Failed to save file '" + entry.getKey() + "': " + e.getMessage());
+                LOG.error("Failed to save file '" + entry.getKey() + "': " + e.getMessage());
                 throw e;
             }
         }
@@ -172,7 +121,7 @@ public class FileUploadUtils {
         }
         
         long totalSize = 0;
-        Collection<Part> parts = request.getParts();
+        List<Part> parts = MultipartContext.of(request).getParts();
         
         for (Part part : parts) {
             if (part.getSubmittedFileName() != null) {
@@ -194,7 +143,7 @@ public class FileUploadUtils {
             return true;
         }
         
-        Collection<Part> parts = request.getParts();
+        List<Part> parts = MultipartContext.of(request).getParts();
         
         for (Part part : parts) {
             if (part.getSubmittedFileName() != null) {
@@ -0,0 +1,126 @@
+package com.giga.spring.upload;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.Part;
+
+/**
+ * Parts d'une requête multipart, lues une seule fois (au premier besoin) puis partagées
+ * par les résolveurs d'arguments et les utilitaires de FileUploadUtils.
+ * Stocké comme attribut de la requête ; les collections retournées sont en lecture seule.
+ */
+public class MultipartContext {
+
+    public static final String ATTRIBUTE = MultipartContext.class.getName();
+
+    private final HttpServletRequest request;
+    private List<Part> parts;
+    private List<UploadedFile> files;
+    private Map<String, UploadedFile> filesByName;
+    private Map<String, List<UploadedFile>> filesByField;
+
+    private MultipartContext(HttpServletRequest request) {
+        this.request = request;
+    }
+
+    /**
+     * Contexte de la requête, créé au premier appel
+     */
+    public static MultipartContext of(HttpServletRequest request) {
+        Object existing = request.getAttribute(ATTRIBUTE);
+        if (existing instanceof MultipartContext) {
+            return (MultipartContext) existing;
+        }
+        MultipartContext context = new MultipartContext(request);
+        request.setAttribute(ATTRIBUTE, context);
+        return context;
+    }
+
+    public boolean isMultipart() {
+        return FileUploadUtils.isMultipartRequest(request);
+    }
+
+    /**
+     * Toutes les parts (champs et fichiers), vide si la requête n'est pas multipart
+     */
+    public List<Part> getParts() throws Exception {
+        if (parts == null) {
+            parts = isMultipart()
+                    ? Collections.unmodifiableList(new ArrayList<>(request.getParts()))
+                    : Collections.<Part>emptyList();
+        }
+        return parts;
+    }
+
+    /**
+     * Fichiers non vides, dans l'ordre du formulaire
+     */
+    public List<UploadedFile> getFiles() throws Exception {
+        if (files == null) {
+            List<UploadedFile> list = new ArrayList<>();
+            Path location = partLocation();
+            for (Part part : getParts()) {
+                if (part.getSize() > 0 && part.getSubmittedFileName() != null) {
+                    // Le contenu reste dans la Part : lu en flux, jamais copié en mémoire
+                    list.add(new StreamingUploadedFile(part, location));
+                }
+            }
+            files = Collections.unmodifiableList(list);
+        }
+        return files;
+    }
+
+    /**
+     * Répertoire temporaire du contexte, où le conteneur écrit les parts
+     * (@MultipartConfig sans location), null s'il n'est pas connu
+     */
+    private Path partLocation() {
+        Object tempDir = request.getServletContext().getAttribute(ServletContext.TEMPDIR);
+        return tempDir instanceof File ? ((File) tempDir).toPath().toAbsolutePath().normalize() : null;
+    }
+
+    /**
+     * Fichiers par nom de champ (le dernier l'emporte si un champ en contient plusieurs)
+     */
+    public Map<String, UploadedFile> getFilesByName() throws Exception {
+        if (filesByName == null) {
+            Map<String, UploadedFile> map = new LinkedHashMap<>();
+            for (UploadedFile file : getFiles()) {
+                map.put(file.getFieldName(), file);
+            }
+            filesByName = Collections.unmodifiableMap(map);
+        }
+        return filesByName;
+    }
+
+    /**
+     * Tous les fichiers de chaque champ
+     */
+    public Map<String, List<UploadedFile>> getFilesByField() throws Exception {
+        if (filesByField == null) {
+            Map<String, List<UploadedFile>> map = new LinkedHashMap<>();
+            for (UploadedFile file : getFiles()) {
+                map.computeIfAbsent(file.getFieldName(), k -> new ArrayList<>()).add(file);
+            }
+            map.replaceAll((field, list) -> Collections.unmodifiableList(list));
+            filesByField = Collections.unmodifiableMap(map);
+        }
+        return filesByField;
+    }
+
+    /**
+     * Premier fichier d'un champ, null s'il n'y en a pas
+     */
+    public UploadedFile getFile(String fieldName) throws Exception {
+        List<UploadedFile> list = getFilesByField().get(fieldName);
+        return list != null ? list.get(0) : null;
+    }
+}
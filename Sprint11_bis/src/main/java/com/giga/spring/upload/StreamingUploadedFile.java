@@ -0,0 +1,109 @@
+package com.giga.spring.upload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import jakarta.servlet.http.Part;
+
+/**
+ * Fichier uploadé lu directement depuis la Part du conteneur (mémoire ou fichier
+ * temporaire selon fileSizeThreshold) : rien n'est copié sur le heap.
+ * saveTo/saveAs délèguent à Part.write quand la cible est sur le même système de
+ * fichiers que le répertoire temporaire du conteneur : un fichier déjà écrit sur disque
+ * est alors simplement déplacé (Tomcat), sans nouvelle copie. Sinon le flux est copié
+ * par blocs (Files.copy). Après un déplacement, le contenu est relu depuis le fichier sauvegardé.
+ * getContent() reste disponible mais charge alors tout le fichier en mémoire.
+ * Valable seulement pendant la requête, comme la Part elle-même.
+ */
+public class StreamingUploadedFile extends UploadedFile {
+
+    private final Part part;
+    private final Path location;
+    private Path written;
+
+    public StreamingUploadedFile(Part part) {
+        this(part, null);
+    }
+
+    /**
+     * @param location répertoire où le conteneur écrit les parts (celui auquel Part.write
+     *                 rapporte un nom relatif), null si inconnu : saveTo copie alors toujours
+     */
+    public StreamingUploadedFile(Part part, Path location) {
+        super(part.getName(), part.getSubmittedFileName(), part.getContentType(), part.getSize(), null);
+        this.part = part;
+        this.location = location;
+    }
+
+    public Part getPart() { return part; }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        // Part.write a pu déplacer le fichier temporaire : relire la copie sauvegardée
+        return written != null ? Files.newInputStream(written) : part.getInputStream();
+    }
+
+    /**
+     * Contenu complet en mémoire, lu au premier appel (à éviter pour les gros fichiers)
+     */
+    @Override
+    public byte[] getContent() {
+        byte[] content = super.getContent();
+        if (content == null) {
+            try (InputStream in = getInputStream()) {
+                content = in.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error reading uploaded file '" + getFieldName() + "'", e);
+            }
+            setContent(content);
+        }
+        return content;
+    }
+
+    @Override
+    protected boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    @Override
+    protected void writeContent(Path target) throws IOException {
+        if (written != null) {
+            Files.copy(written, target, StandardCopyOption.REPLACE_EXISTING);
+            return;
+        }
+        Path absolute = target.toAbsolutePath().normalize();
+        if (sameFileStore(absolute)) {
+            // Nom relatif au répertoire du conteneur : seule forme que la spécification garantit
+            Files.deleteIfExists(absolute);
+            part.write(location.relativize(absolute).toString());
+            if (Files.exists(absolute)) {
+                written = absolute;
+                return;
+            }
+            // Le conteneur écrit ailleurs (location configurée autrement) : copie classique
+        }
+        try (InputStream in = part.getInputStream()) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private boolean sameFileStore(Path target) {
+        if (location == null || target.getParent() == null) return false;
+        try {
+            return Files.getFileStore(location).equals(Files.getFileStore(target.getParent()));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Libère le stockage temporaire du conteneur
+     */
+    public void delete() throws IOException {
+        part.delete();
+    }
+}
@@ -1,7 +1,11 @@
 package com.giga.spring.upload;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -49,11 +53,42 @@ public class UploadedFile {
     public String getTempFilePath() { return tempFilePath; }
     public void setTempFilePath(String tempFilePath) { this.tempFilePath = tempFilePath; }
     
+    /**
+     * Flux de lecture du contenu (à fermer par l'appelant)
+     */
+    public InputStream getInputStream() throws IOException {
+        if (content == null) {
+            throw new IOException("No content to read");
+        }
+        return new ByteArrayInputStream(content);
+    }
+    
+    /**
+     * Canal de lecture du contenu (à fermer par l'appelant)
+     */
+    public ReadableByteChannel openChannel() throws IOException {
+        return Channels.newChannel(getInputStream());
+    }
+    
+    /**
+     * Vrai s'il n'y a rien à sauvegarder
+     */
+    protected boolean isEmpty() {
+        return content == null || content.length == 0;
+    }
+    
+    /**
+     * Écrit le contenu dans un fichier (créé ou remplacé)
+     */
+    protected void writeContent(Path target) throws IOException {
+        Files.write(target, content);
+    }
+    
     /**
      * Sauvegarde le fichier dans un répertoire temporaire
      */
     public String saveToTemp() throws IOException {
-        if (content == null || content.length == 0) {
+        if (isEmpty()) {
             throw new IOException("No content to save");
         }
         
@@ -63,7 +98,7 @@ public class UploadedFile {
         Path tempFile = Files.createTempFile(prefix, getFileExtension());
         
         // Écrire le contenu
-        Files.write(tempFile, content);
+        writeContent(tempFile);
         
         this.tempFilePath = tempFile.toString();
         return tempFilePath;
@@ -73,7 +108,7 @@ public class UploadedFile {
      * Sauvegarde le fichier dans un répertoire spécifique
      */
     public String saveTo(String directory) throws IOException {
-        if (content == null || content.length == 0) {
+        if (isEmpty()) {
             throw new IOException("No content to save");
         }
         
@@ -98,7 +133,7 @@ public class UploadedFile {
         }
         
         // Écrire le contenu
-        Files.write(filePath, content);
+        writeContent(filePath);
         
         this.tempFilePath = filePath.toString();
         return tempFilePath;
@@ -108,7 +143,7 @@ public class UploadedFile {
      * Sauvegarde le fichier avec un nom spécifique
      */
     public String saveAs(String filePath) throws IOException {
-        if (content == null || content.length == 0) {
+        if (isEmpty()) {
             throw new IOException("No content to save");
         }
         
@@ -120,7 +155,7 @@ public class UploadedFile {
         }
         
         // Écrire le contenu
-        Files.write(path, content);
+        writeContent(path);
         
         this.tempFilePath = path.toString();
         return tempFilePath;
@@ -130,14 +165,14 @@ public class UploadedFile {
      * Lit le contenu du fichier comme une chaîne de caractères
      */
     public String getContentAsString() {
-        return new String(content);
+        return new String(getContent());
     }
     
     /**
      * Lit le contenu du fichier comme une chaîne de caractères avec un encodage spécifique
      */
     public String getContentAsString(String charsetName) throws UnsupportedEncodingException {
-        return new String(content, charsetName);
+        return new String(getContent(), charsetName);
     }
     
     /**
@@ -217,7 +252,7 @@ public class UploadedFile {
                ", fileName='" + fileName + '\'' +
                ", contentType='" + contentType + '\'' +
                ", size=" + size +
-               ", hasContent=" + (content != null) +
+               ", hasContent=" + !isEmpty() +
                ", tempFilePath='" + tempFilePath + '\'' +
                '}';
     }
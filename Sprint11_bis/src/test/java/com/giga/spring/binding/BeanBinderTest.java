@@ -0,0 +1,96 @@
+package com.giga.spring.binding;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class BeanBinderTest {
+
+    public static class Address {
+        String city;
+        int zip;
+    }
+
+    public static class Person {
+        String name;
+        int age;
+        Address address;
+        Person manager;
+    }
+
+    private static Map<String, String[]> params(String... pairs) {
+        Map<String, String[]> map = new HashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            map.put(pairs[i], new String[] { pairs[i + 1] });
+        }
+        return map;
+    }
+
+    private static Person bind(Map<String, String[]> params) {
+        return (Person) ObjectBinder.bindObject(Person.class, params, "p");
+    }
+
+    @Test
+    public void bindsSimpleAndNestedProperties() {
+        Person p = bind(params("p.name", "Ana", "p.age", "31", "p.address.city", "Tana", "p.address.zip", "101"));
+        assertEquals("Ana", p.name);
+        assertEquals(31, p.age);
+        assertEquals("Tana", p.address.city);
+        assertEquals(101, p.address.zip);
+    }
+
+    @Test
+    public void underscoreSeparatorIsAccepted() {
+        Person p = bind(params("p_name", "Ana", "p_address_city", "Tana"));
+        assertEquals("Ana", p.name);
+        assertEquals("Tana", p.address.city);
+    }
+
+    @Test
+    public void dottedFormWinsOverUnderscore() {
+        Person p = bind(params("p.name", "dot", "p_name", "underscore"));
+        assertEquals("dot", p.name);
+    }
+
+    @Test
+    public void nestedObjectWithoutParamsIsCreatedEmpty() {
+        Person p = bind(params("p.name", "Ana"));
+        assertNotNull(p.address);
+        assertNull(p.address.city);
+        // Type auto-référencé : pas de création infinie
+        assertNull(p.manager);
+    }
+
+    @Test
+    public void selfReferenceIsBoundWhenSent() {
+        Person p = bind(params("p.manager.name", "Bob", "p.manager.address.city", "Paris"));
+        assertEquals("Bob", p.manager.name);
+        assertEquals("Paris", p.manager.address.city);
+        assertNotNull(p.address);
+    }
+
+    @Test
+    public void missingPrefixGivesEmptyInstance() {
+        Person p = bind(params("other.name", "x"));
+        assertNotNull(p);
+        assertNull(p.name);
+    }
+
+    @Test
+    public void invalidNumberLeavesDefault() {
+        Person p = bind(params("p.age", "abc", "p.name", "Ana"));
+        assertEquals(0, p.age);
+        assertEquals("Ana", p.name);
+    }
+
+    @Test
+    public void binderIsCachedPerClass() {
+        assertSame(BeanBinder.of(Person.class), BeanBinder.of(Person.class));
+    }
+}
@@ -0,0 +1,75 @@
+package com.giga.spring.binding;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+import org.junit.Test;
+
+public class DateCodecTest {
+
+    @Test
+    public void acceptedFormats() {
+        LocalDate expected = LocalDate.of(2024, 3, 15);
+        assertEquals(expected, DateCodec.parseLocalDate("2024-03-15"));
+        assertEquals(expected, DateCodec.parseLocalDate("15/03/2024"));
+        assertEquals(expected, DateCodec.parseLocalDate("2024/03/15"));
+        assertEquals(expected, DateCodec.parseLocalDate("03/15/2024"));
+    }
+
+    @Test
+    public void dayFirstIsPreferredWhenAmbiguous() {
+        assertEquals(LocalDate.of(2024, 4, 5), DateCodec.parseLocalDate("05/04/2024"));
+    }
+
+    @Test
+    public void trailingTimeIsIgnored() {
+        assertEquals(LocalDate.of(2024, 3, 15), DateCodec.parseLocalDate("2024-03-15T10:20:30"));
+    }
+
+    @Test
+    public void invalidDatesAreRejected() {
+        assertNull(DateCodec.parseLocalDate("2024/02/30"));
+        assertNull(DateCodec.parseLocalDate("2023-02-29"));
+        assertNull(DateCodec.parseLocalDate("2024-13-01"));
+        assertNull(DateCodec.parseLocalDate("2024-00-10"));
+        assertNull(DateCodec.parseLocalDate("31/04/2024"));
+        assertNull(DateCodec.parseLocalDate("2024-03/15"));
+        assertNull(DateCodec.parseLocalDate("2024.03.15"));
+        assertNull(DateCodec.parseLocalDate("abc"));
+        assertNull(DateCodec.parseLocalDate(""));
+        assertNull(DateCodec.parseLocalDate(null));
+        assertNull(DateCodec.parse("2024/02/30"));
+    }
+
+    @Test
+    public void leapDayIsAccepted() {
+        assertEquals(LocalDate.of(2024, 2, 29), DateCodec.parseLocalDate("29/02/2024"));
+    }
+
+    @Test
+    public void parseGivesMidnightInServerZone() {
+        Date date = DateCodec.parse("2024-03-15");
+        ZonedDateTime zoned = date.toInstant().atZone(ZoneId.systemDefault());
+        assertEquals(LocalDate.of(2024, 3, 15), zoned.toLocalDate());
+        assertEquals(0, zoned.toLocalTime().toSecondOfDay());
+    }
+
+    @Test
+    public void formatParseRoundTrip() {
+        String[] inputs = { "2024-03-15", "01/01/2000", "1999/12/31", "12/25/2023" };
+        for (String input : inputs) {
+            Date date = DateCodec.parse(input);
+            String json = DateCodec.format(date);
+            assertEquals(input, "T00:00:00.000", json.substring(10, 23));
+            assertEquals(input, date, DateCodec.parse(json.substring(0, 10)));
+            ZonedDateTime back = ZonedDateTime.parse(json, DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ"));
+            assertEquals(input, date.toInstant(), back.toInstant());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.giga.spring.binding;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class ObjectBinderTest {
+
+    public static class Item {
+        String sku;
+        int qty;
+    }
+
+    public static class Order {
+        List<Item> items;
+        Item[] extras;
+        Set<String> tags;
+        Set<Integer> codes;
+        int[] scores;
+        List<Line> lines;
+    }
+
+    public static class Line {
+        List<Item> parts;
+    }
+
+    private final int defaultLimit = ParamTree.getIndexLimit();
+
+    @After
+    public void restoreLimit() {
+        ParamTree.setIndexLimit(defaultLimit);
+    }
+
+    private static Map<String, String[]> params(String... pairs) {
+        Map<String, String[]> map = new HashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            map.merge(pairs[i], new String[] { pairs[i + 1] }, (a, b) -> {
+                String[] all = new String[a.length + b.length];
+                System.arraycopy(a, 0, all, 0, a.length);
+                System.arraycopy(b, 0, all, a.length, b.length);
+                return all;
+            });
+        }
+        return map;
+    }
+
+    private static Order bind(Map<String, String[]> params) {
+        return (Order) ObjectBinder.bindObject(Order.class, params, "o");
+    }
+
+    @Test
+    public void listElementsAreTypedFromGenericDeclaration() {
+        Order o = bind(params("o.items[0].sku", "A", "o.items[0].qty", "2", "o.items[1].sku", "B"));
+        assertEquals(2, o.items.size());
+        assertTrue(o.items.get(0) instanceof Item);
+        assertEquals("A", o.items.get(0).sku);
+        assertEquals(2, o.items.get(0).qty);
+        assertEquals("B", o.items.get(1).sku);
+    }
+
+    @Test
+    public void nestedIndexes() {
+        Order o = bind(params("o.lines[0].parts[1].sku", "X", "o.lines[1].parts[0].sku", "Y"));
+        assertEquals(2, o.lines.size());
+        assertEquals("X", o.lines.get(0).parts.get(1).sku);
+        assertEquals("Y", o.lines.get(1).parts.get(0).sku);
+    }
+
+    @Test
+    public void sparseListFillsGapsWithEmptyElements() {
+        Order o = bind(params("o.items[0].sku", "A", "o.items[2].sku", "C"));
+        // items[1] absent : élément vide, comme avant la réécriture du binding
+        assertEquals(3, o.items.size());
+        assertEquals("A", o.items.get(0).sku);
+        assertNull(o.items.get(1).sku);
+        assertEquals("C", o.items.get(2).sku);
+    }
+
+    @Test
+    public void sparseArrayKeepsPositions() {
+        Order o = bind(params("o.extras[2].sku", "C"));
+        assertEquals(3, o.extras.length);
+        assertNull(o.extras[0].sku);
+        assertNull(o.extras[1].sku);
+        assertEquals("C", o.extras[2].sku);
+    }
+
+    @Test
+    public void indexAboveLimitIsIgnored() {
+        Order o = bind(params("o.items[999999999].sku", "Z", "o.items[0].sku", "A"));
+        assertEquals(1, o.items.size());
+        assertEquals("A", o.items.get(0).sku);
+    }
+
+    @Test
+    public void indexLimitIsConfigurable() {
+        ParamTree.setIndexLimit(5);
+        Order o = bind(params("o.extras[6].sku", "Z", "o.extras[5].sku", "E"));
+        assertEquals(6, o.extras.length);
+        assertEquals("E", o.extras[5].sku);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeIndexLimitIsRefused() {
+        ParamTree.setIndexLimit(-1);
+    }
+
+    @Test
+    public void setTargetsFromRepeatedAndIndexedValues() {
+        Order o = bind(params("o.tags", "a", "o.tags", "b", "o.tags", "a", "o.codes[0]", "1", "o.codes[1]", "2"));
+        assertEquals(new HashSet<>(List.of("a", "b")), o.tags);
+        assertEquals(new HashSet<>(List.of(1, 2)), o.codes);
+    }
+
+    @Test
+    public void primitiveArrayFromIndexedValues() {
+        Order o = bind(params("o.scores[0]", "3", "o.scores[1]", "4"));
+        assertArrayEquals(new int[] { 3, 4 }, o.scores);
+    }
+
+    @Test
+    public void bracketAndDotNotationsAreEquivalent() {
+        Order o = bind(params("o.items.[0].sku", "A"));
+        assertEquals("A", o.items.get(0).sku);
+    }
+}
@@ -0,0 +1,213 @@
+package com.giga.spring.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+public class ResponseCacheTest {
+
+    private static final String[] NONE = new String[0];
+
+    private static HttpServletRequest request(String... pairs) {
+        Map<String, String[]> map = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            map.put(pairs[i], new String[] { pairs[i + 1] });
+        }
+        return (HttpServletRequest) Proxy.newProxyInstance(ResponseCacheTest.class.getClassLoader(),
+                new Class<?>[] { HttpServletRequest.class }, (p, method, args) -> {
+            switch (method.getName()) {
+                case "getParameterMap": return map;
+                case "getParameterValues": return map.get(args[0]);
+                case "getParameter": {
+                    String[] values = map.get(args[0]);
+                    return values != null ? values[0] : null;
+                }
+                default: return null;
+            }
+        });
+    }
+
+    private static CachedResponse response(String body) {
+        return new CachedResponse(body.getBytes(), null);
+    }
+
+    @Test
+    public void pathValuesAreKeyed() {
+        ResponseCache cache = new ResponseCache(60_000, NONE, NONE, 10);
+        HttpServletRequest req = request();
+        assertEquals(cache.key(new String[] { "1" }, req), cache.key(new String[] { "1" }, req));
+        assertNotEquals(cache.key(new String[] { "1" }, req), cache.key(new String[] { "2" }, req));
+        // Pas de collision par concaténation
+        assertNotEquals(cache.key(new String[] { "a", "bc" }, req), cache.key(new String[] { "ab", "c" }, req));
+    }
+
+    @Test
+    public void namedQueryParamsAreKeyed() {
+        ResponseCache cache = new ResponseCache(60_000, new String[] { "page" }, NONE, 10);
+        String none = cache.key(NONE, request());
+        String empty = cache.key(NONE, request("page", ""));
+        String one = cache.key(NONE, request("page", "1"));
+        String two = cache.key(NONE, request("page", "2"));
+        assertNotEquals(one, two);
+        assertNotEquals(none, empty);
+        // Paramètre non lu par la méthode : ignoré
+        assertEquals(one, cache.key(NONE, request("page", "1", "utm", "x")));
+    }
+
+    @Test
+    public void boundObjectParamsAreKeyedWhateverTheirOrder() {
+        ResponseCache cache = new ResponseCache(60_000, NONE, new String[] { "f" }, 10);
+        String ab = cache.key(NONE, request("f.a", "1", "f.b", "2"));
+        String ba = cache.key(NONE, request("f.b", "2", "f.a", "1"));
+        assertEquals(ab, ba);
+        assertNotEquals(ab, cache.key(NONE, request("f.a", "1", "f.b", "3")));
+        assertNotEquals(ab, cache.key(NONE, request("f.a", "1", "f[0]", "2")));
+        assertNotEquals(ab, cache.key(NONE, request("f.a", "1", "f_b", "2", "f.b", "2")));
+        // "fx" n'est pas sous le préfixe "f"
+        assertEquals(ab, cache.key(NONE, request("f.a", "1", "f.b", "2", "fx", "9")));
+    }
+
+    @Test
+    public void hitAfterMiss() throws Exception {
+        ResponseCache cache = new ResponseCache(60_000, NONE, NONE, 10);
+        AtomicInteger loads = new AtomicInteger();
+        CachedResponse first = cache.get("k", () -> { loads.incrementAndGet(); return response("v"); });
+        CachedResponse second = cache.get("k", () -> { loads.incrementAndGet(); return response("other"); });
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void expiredEntryIsReloaded() throws Exception {
+        ResponseCache cache = new ResponseCache(50, NONE, NONE, 10);
+        AtomicInteger loads = new AtomicInteger();
+        ResponseCache.Loader loader = () -> response("v" + loads.incrementAndGet());
+        cache.get("k", loader);
+        cache.get("k", loader);
+        assertEquals(1, loads.get());
+        Thread.sleep(80);
+        assertEquals("v2", new String(cache.get("k", loader).getBody()));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void leastRecentlyUsedIsEvicted() throws Exception {
+        ResponseCache cache = new ResponseCache(60_000, NONE, NONE, 2);
+        AtomicInteger loads = new AtomicInteger();
+        ResponseCache.Loader loader = () -> { loads.incrementAndGet(); return response("v"); };
+        cache.get("a", loader);
+        cache.get("b", loader);
+        cache.get("a", loader); // "a" devient le plus récent
+        cache.get("c", loader); // évince "b"
+        assertEquals(2, cache.size());
+        assertEquals(3, loads.get());
+
+        cache.get("a", loader);
+        assertEquals(3, loads.get());
+        cache.get("b", loader);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void failedLoadIsNotCached() throws Exception {
+        ResponseCache cache = new ResponseCache(60_000, NONE, NONE, 10);
+        try {
+            cache.get("k", () -> { throw new IllegalStateException("boom"); });
+            fail("expected exception");
+        } catch (IllegalStateException expected) {
+            assertEquals("boom", expected.getMessage());
+        }
+        assertEquals(0, cache.size());
+        assertEquals("ok", new String(cache.get("k", () -> response("ok")).getBody()));
+    }
+
+    @Test(timeout = 10_000)
+    public void concurrentMissesLoadOnce() throws Exception {
+        ResponseCache cache = new ResponseCache(60_000, NONE, NONE, 10);
+        int threads = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ResponseCache.Loader loader = () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            release.await();
+            return response("v");
+        };
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<CachedResponse>> results = new ArrayList<>();
+            results.add(pool.submit(() -> cache.get("k", loader)));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < threads; i++) {
+                results.add(pool.submit(() -> cache.get("k", loader)));
+            }
+            Thread.sleep(50); // laisse les autres threads rejoindre le chargement en cours
+            release.countDown();
+
+            CachedResponse first = results.get(0).get();
+            for (Future<CachedResponse> result : results) {
+                assertSame(first, result.get());
+            }
+            assertEquals(1, loads.get());
+            assertEquals(1, cache.getMisses());
+            assertEquals(threads - 1, cache.getHits());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void concurrentWaitersSeeTheLoadError() throws Exception {
+        ResponseCache cache = new ResponseCache(60_000, NONE, NONE, 10);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<CachedResponse> loader = pool.submit(() -> cache.get("k", () -> {
+                started.countDown();
+                release.await();
+                throw new IllegalStateException("boom");
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<CachedResponse> waiter = pool.submit(() -> cache.get("k", () -> response("late")));
+            Thread.sleep(50);
+            release.countDown();
+
+            for (Future<CachedResponse> f : List.of(loader, waiter)) {
+                try {
+                    CachedResponse r = f.get();
+                    // Le second appel a pu arriver après la fin du chargement raté
+                    assertEquals("late", new String(r.getBody()));
+                    assertSame(waiter, f);
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof IllegalStateException);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
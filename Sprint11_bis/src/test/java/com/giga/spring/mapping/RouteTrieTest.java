@@ -0,0 +1,127 @@
+package com.giga.spring.mapping;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+
+public class RouteTrieTest {
+
+    public static class Handlers {
+        public void handle() {}
+    }
+
+    private static final Method HANDLE;
+    static {
+        try {
+            HANDLE = Handlers.class.getMethod("handle");
+        } catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static URLRoute route(String pattern, String httpMethod) {
+        return new URLRoute(pattern, new Handlers(), HANDLE, httpMethod);
+    }
+
+    private static RouteTrie trie(URLRoute... routes) {
+        RouteTrie trie = new RouteTrie();
+        for (URLRoute route : routes) trie.add(route);
+        return trie;
+    }
+
+    @Test
+    public void literalRouteShadowsParamRoute() {
+        URLRoute param = route("/users/{id}", "GET");
+        URLRoute literal = route("/users/me", "GET");
+        RouteTrie trie = trie(param, literal);
+
+        assertSame(literal, trie.find("/users/me", "GET").getRoute());
+        RouteMatch match = trie.find("/users/42", "GET");
+        assertSame(param, match.getRoute());
+        assertArrayEquals(new String[] { "42" }, match.getParamValues());
+    }
+
+    @Test
+    public void backtracksFromLiteralToParamBranch() {
+        URLRoute literalFirst = route("/a/{x}/c", "GET");
+        URLRoute paramFirst = route("/{y}/b/d", "GET");
+        RouteTrie trie = trie(literalFirst, paramFirst);
+
+        // "a" suit d'abord la branche littérale, qui échoue sur "d" : retour à {y}
+        RouteMatch match = trie.find("/a/b/d", "GET");
+        assertSame(paramFirst, match.getRoute());
+        assertArrayEquals(new String[] { "a" }, match.getParamValues());
+
+        match = trie.find("/a/b/c", "GET");
+        assertSame(literalFirst, match.getRoute());
+        assertArrayEquals(new String[] { "b" }, match.getParamValues());
+    }
+
+    @Test
+    public void extractsSeveralParams() {
+        RouteTrie trie = trie(route("/orders/{orderId}/items/{itemId}", "GET"));
+        RouteMatch match = trie.find("/orders/7/items/x-1", "GET");
+        assertArrayEquals(new String[] { "7", "x-1" }, match.getParamValues());
+    }
+
+    @Test
+    public void trailingSlashAndEmptySegmentsDoNotMatch() {
+        URLRoute route = route("/users/{id}", "GET");
+        RouteTrie trie = trie(route);
+
+        assertNull(trie.find("/users/42/", "GET"));
+        assertNull(trie.find("/users//42", "GET"));
+        assertNull(trie.find("/users/", "GET"));
+        assertNull(trie.find("users/42", "GET"));
+        // Même réponse que l'ancienne recherche par regex
+        assertEquals(route.matches("/users/42/"), trie.find("/users/42/", "GET") != null);
+    }
+
+    @Test
+    public void httpMethodSelectsRouteOnSameNode() {
+        URLRoute get = route("/items", "GET");
+        URLRoute post = route("/items", "POST");
+        URLRoute any = route("/misc", "ANY");
+        RouteTrie trie = trie(get, post, any);
+
+        assertSame(get, trie.find("/items", "GET").getRoute());
+        assertSame(post, trie.find("/items", "POST").getRoute());
+        assertNull(trie.find("/items", "DELETE"));
+        assertSame(any, trie.find("/misc", "PUT").getRoute());
+    }
+
+    @Test
+    public void methodMismatchOnLiteralFallsBackToParam() {
+        URLRoute literalPost = route("/users/me", "POST");
+        URLRoute paramGet = route("/users/{id}", "GET");
+        RouteTrie trie = trie(literalPost, paramGet);
+
+        RouteMatch match = trie.find("/users/me", "GET");
+        assertSame(paramGet, match.getRoute());
+        assertArrayEquals(new String[] { "me" }, match.getParamValues());
+    }
+
+    @Test
+    public void agreesWithRegexMatching() {
+        URLRoute[] routes = {
+            route("/a/{x}/c", "GET"), route("/{y}/b/d", "GET"), route("/a/b", "GET"),
+            route("/p/{q}", "GET"), route("/p/q/r", "GET")
+        };
+        RouteTrie trie = trie(routes);
+        String[] urls = { "/a/b", "/a/b/c", "/a/b/d", "/z/b/d", "/p/1", "/p/q", "/p/q/r", "/p/q/s", "/a", "/", "" };
+        for (String url : urls) {
+            boolean anyRegex = false;
+            for (URLRoute r : routes) anyRegex |= r.matches(url);
+            RouteMatch match = trie.find(url, "GET");
+            assertEquals(url, anyRegex, match != null);
+            if (match != null) {
+                assertEquals(url, true, match.getRoute().matches(url));
+            }
+        }
+    }
+}
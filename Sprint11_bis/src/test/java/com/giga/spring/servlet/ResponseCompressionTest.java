@@ -0,0 +1,255 @@
+package com.giga.spring.servlet;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.junit.Test;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class ResponseCompressionTest {
+
+    /** Réponse minimale : en-têtes, Content-Length et corps en mémoire */
+    private static class FakeResponse {
+        final Map<String, String> headers = new HashMap<>();
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        int contentLength = -1;
+        boolean failWrites;
+
+        final ServletOutputStream out = new ServletOutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                if (failWrites) throw new IOException("client gone");
+                body.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (failWrites) throw new IOException("client gone");
+                body.write(b, off, len);
+            }
+
+            @Override
+            public boolean isReady() { return true; }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {}
+        };
+
+        HttpServletResponse proxy() {
+            return (HttpServletResponse) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { HttpServletResponse.class }, (p, method, args) -> {
+                switch (method.getName()) {
+                    case "getOutputStream": return out;
+                    case "setHeader":
+                    case "addHeader": headers.put((String) args[0], (String) args[1]); return null;
+                    case "getHeader": return headers.get(args[0]);
+                    case "setContentLength": contentLength = (Integer) args[0]; return null;
+                    default: return null;
+                }
+            });
+        }
+    }
+
+    private static HttpServletRequest request(String acceptEncoding) {
+        return (HttpServletRequest) Proxy.newProxyInstance(ResponseCompressionTest.class.getClassLoader(),
+                new Class<?>[] { HttpServletRequest.class },
+                (p, method, args) -> "getHeader".equals(method.getName()) && "Accept-Encoding".equals(args[0])
+                        ? acceptEncoding : null);
+    }
+
+    private static byte[] payload(int size) {
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < size) sb.append("{\"id\":").append(sb.length()).append(",\"name\":\"item\"},");
+        return sb.substring(0, size).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        try (in) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    public void gzipBodyDecompressesToOriginal() throws IOException {
+        ResponseCompression compression = new ResponseCompression(256, 6, 4);
+        FakeResponse res = new FakeResponse();
+        byte[] data = payload(10_000);
+
+        try (CompressingOutputStream out = compression.open(request("gzip, deflate"), res.proxy())) {
+            out.write(data, 0, 100);
+            out.write(data, 100, data.length - 100);
+        }
+
+        assertEquals("gzip", res.headers.get("Content-Encoding"));
+        assertEquals("Accept-Encoding", res.headers.get("Vary"));
+        assertTrue(res.body.size() < data.length);
+        assertArrayEquals(data, readAll(new GZIPInputStream(new ByteArrayInputStream(res.body.toByteArray()))));
+    }
+
+    @Test
+    public void deflateBodyDecompressesToOriginal() throws IOException {
+        ResponseCompression compression = new ResponseCompression(256, 6, 4);
+        FakeResponse res = new FakeResponse();
+        byte[] data = payload(5_000);
+
+        try (CompressingOutputStream out = compression.open(request("deflate"), res.proxy())) {
+            for (byte b : data) out.write(b);
+        }
+
+        assertEquals("deflate", res.headers.get("Content-Encoding"));
+        assertArrayEquals(data, readAll(new InflaterInputStream(new ByteArrayInputStream(res.body.toByteArray()))));
+    }
+
+    @Test
+    public void bodyBelowMinSizeIsSentAsIs() throws IOException {
+        ResponseCompression compression = new ResponseCompression(1024, 6, 4);
+        FakeResponse res = new FakeResponse();
+        byte[] data = payload(1024);
+
+        try (CompressingOutputStream out = compression.open(request("gzip"), res.proxy())) {
+            out.write(data);
+        }
+
+        assertNull(res.headers.get("Content-Encoding"));
+        assertEquals(1024, res.contentLength);
+        assertArrayEquals(data, res.body.toByteArray());
+        assertEquals(0, compression.pooled(ResponseCompression.GZIP));
+    }
+
+    @Test
+    public void bodyAboveMinSizeIsCompressed() throws IOException {
+        ResponseCompression compression = new ResponseCompression(1024, 6, 4);
+        FakeResponse res = new FakeResponse();
+
+        try (CompressingOutputStream out = compression.open(request("gzip"), res.proxy())) {
+            out.write(payload(1025));
+        }
+
+        assertEquals("gzip", res.headers.get("Content-Encoding"));
+        assertEquals(-1, res.contentLength);
+    }
+
+    @Test
+    public void uncompressedWhenNotAccepted() throws IOException {
+        ResponseCompression compression = new ResponseCompression(16, 6, 4);
+        FakeResponse res = new FakeResponse();
+        byte[] data = payload(4096);
+
+        try (CompressingOutputStream out = compression.open(request(null), res.proxy())) {
+            out.write(data);
+        }
+
+        assertNull(res.headers.get("Content-Encoding"));
+        assertArrayEquals(data, res.body.toByteArray());
+    }
+
+    @Test
+    public void negotiation() {
+        assertEquals("gzip", ResponseCompression.negotiate("gzip"));
+        assertEquals("gzip", ResponseCompression.negotiate("deflate, gzip"));
+        assertEquals("deflate", ResponseCompression.negotiate("gzip;q=0, deflate"));
+        assertEquals("deflate", ResponseCompression.negotiate("gzip; q=0.0, deflate;q=0.5"));
+        assertNull(ResponseCompression.negotiate("gzip;q=0, deflate;q=0"));
+        assertNull(ResponseCompression.negotiate("identity"));
+        assertNull(ResponseCompression.negotiate(""));
+        assertNull(ResponseCompression.negotiate(null));
+        assertEquals("gzip", ResponseCompression.negotiate("GZIP"));
+    }
+
+    @Test
+    public void wildcardNegotiation() {
+        assertEquals("gzip", ResponseCompression.negotiate("*"));
+        assertEquals("deflate", ResponseCompression.negotiate("gzip;q=0, *"));
+        assertNull(ResponseCompression.negotiate("*;q=0"));
+        assertEquals("gzip", ResponseCompression.negotiate("gzip, *;q=0"));
+        assertNull(ResponseCompression.negotiate("identity, *;q=0"));
+    }
+
+    @Test
+    public void deflaterIsReusedAcrossResponses() throws IOException {
+        ResponseCompression compression = new ResponseCompression(16, 6, 4);
+        for (int i = 0; i < 3; i++) {
+            FakeResponse res = new FakeResponse();
+            byte[] data = payload(2048);
+            try (CompressingOutputStream out = compression.open(request("gzip"), res.proxy())) {
+                out.write(data);
+            }
+            assertArrayEquals(data, readAll(new GZIPInputStream(new ByteArrayInputStream(res.body.toByteArray()))));
+            assertEquals(1, compression.pooled(ResponseCompression.GZIP));
+        }
+    }
+
+    @Test
+    public void deflaterIsReturnedOnAbort() throws IOException {
+        ResponseCompression compression = new ResponseCompression(16, 6, 4);
+        FakeResponse res = new FakeResponse();
+
+        CompressingOutputStream out = compression.open(request("gzip"), res.proxy());
+        out.write(payload(2048));
+        assertEquals(0, compression.pooled(ResponseCompression.GZIP));
+        out.abort();
+        assertEquals(1, compression.pooled(ResponseCompression.GZIP));
+
+        // Après abort, plus rien n'est accepté et close ne rend rien deux fois
+        try {
+            out.write(1);
+            fail("write after abort");
+        } catch (IOException expected) {
+            // attendu
+        }
+        out.close();
+        assertEquals(1, compression.pooled(ResponseCompression.GZIP));
+    }
+
+    @Test
+    public void deflaterIsReturnedWhenClientWriteFails() throws IOException {
+        ResponseCompression compression = new ResponseCompression(16, 6, 4);
+        FakeResponse res = new FakeResponse();
+
+        CompressingOutputStream out = compression.open(request("deflate"), res.proxy());
+        out.write(payload(64));
+        res.failWrites = true;
+        try {
+            out.write(payload(100_000));
+        } catch (IOException ignored) {
+            // selon le tampon du DeflaterOutputStream, l'échec arrive ici ou au close
+        }
+        try {
+            out.close();
+            fail("expected IOException");
+        } catch (IOException expected) {
+            // attendu : la fin du flux compressé ne peut pas être écrite
+        }
+        assertEquals(1, compression.pooled(ResponseCompression.DEFLATE));
+    }
+
+    @Test
+    public void poolIsBounded() throws IOException {
+        ResponseCompression compression = new ResponseCompression(16, 6, 1);
+        CompressingOutputStream first = compression.open(request("gzip"), new FakeResponse().proxy());
+        CompressingOutputStream second = compression.open(request("gzip"), new FakeResponse().proxy());
+        first.write(payload(64));
+        second.write(payload(64));
+        first.close();
+        second.close();
+        assertEquals(1, compression.pooled(ResponseCompression.GZIP));
+    }
+}